@@ -0,0 +1,93 @@
+package nl.kallestruik.noisesampler.bench;
+
+import java.util.function.LongFunction;
+
+import nl.kallestruik.noisesampler.minecraft.BitRandomSource;
+import nl.kallestruik.noisesampler.minecraft.LegacyRandomSource;
+import nl.kallestruik.noisesampler.minecraft.NoiseParameterKey;
+import nl.kallestruik.noisesampler.minecraft.RandomSource;
+import nl.kallestruik.noisesampler.minecraft.SingleThreadedRandomSource;
+import nl.kallestruik.noisesampler.minecraft.noise.LazyDoublePerlinNoiseSampler;
+import nl.kallestruik.noisesampler.minecraft.noise.SimplexNoiseSampler;
+
+/**
+ * Time to build the noises seeded from the legacy random, and take their first sample, per seed: the End island
+ * noise, which skips 17292 values first, and the Nether temperature and vegetation noises, whose octaves skip 262
+ * values each. Each is built once with a source that steps through every skipped value, as
+ * {@link LegacyRandomSource} used to, and once with the jumping {@link SingleThreadedRandomSource}.
+ */
+public final class RandomConstructionBench {
+    private static final int WARMUP_SEEDS = 2_000;
+    private static final int SEEDS = 5_000;
+
+    private static double sink;
+
+    private RandomConstructionBench() {
+    }
+
+    public static void main(String[] args) {
+        for (int pass = 0; pass < 2; pass++) {
+            boolean measure = pass == 1;
+            int seeds = measure ? SEEDS : WARMUP_SEEDS;
+            double endStepping = time(seeds, seed -> island(new SteppingRandomSource(seed)));
+            double endJumping = time(seeds, seed -> island(new SingleThreadedRandomSource(seed)));
+            double netherStepping = time(seeds, seed -> climate(SteppingRandomSource::new, seed));
+            double netherJumping = time(seeds, seed -> climate(SingleThreadedRandomSource::new, seed));
+            if (measure) {
+                System.out.printf("End island noise:       stepping %8.1f us, jumping %8.1f us per seed%n",
+                        endStepping, endJumping);
+                System.out.printf("Nether climate noises:  stepping %8.1f us, jumping %8.1f us per seed%n",
+                        netherStepping, netherJumping);
+            }
+        }
+        for (long seed = 0; seed < 100; seed++) {
+            if (island(new SteppingRandomSource(seed)) != island(new SingleThreadedRandomSource(seed))
+                    || climate(SteppingRandomSource::new, seed)
+                    != climate(SingleThreadedRandomSource::new, seed)) {
+                System.err.println("FAILED: jumping and stepping build different noises for seed " + seed);
+                System.exit(1);
+            }
+        }
+    }
+
+    private static double island(RandomSource random) {
+        random.consumeCount(17292);
+        return new SimplexNoiseSampler(random).sample(100.0, 100.0);
+    }
+
+    /** Both Nether climate noises, seeded like in {@code NoiseColumnSampler}. */
+    private static double climate(LongFunction<BitRandomSource> sources, long seed) {
+        LazyDoublePerlinNoiseSampler temperature = LazyDoublePerlinNoiseSampler.createNoiseSampler(
+                sources.apply(seed), NoiseParameterKey.TEMPERATURE, true);
+        LazyDoublePerlinNoiseSampler vegetation = LazyDoublePerlinNoiseSampler.createNoiseSampler(
+                sources.apply(seed + 1), NoiseParameterKey.VEGETATION, true);
+        return temperature.sample(100.0, 0.0, 100.0) + vegetation.sample(100.0, 0.0, 100.0);
+    }
+
+    /** Microseconds per seed. */
+    private static double time(int seeds, Build build) {
+        long start = System.nanoTime();
+        for (long seed = 0; seed < seeds; seed++) {
+            sink += build.run(seed);
+        }
+        return (System.nanoTime() - start) / 1e3 / seeds;
+    }
+
+    private interface Build {
+        double run(long seed);
+    }
+
+    /** {@link LegacyRandomSource} as it was before it could jump: skipping steps through every value. */
+    private static final class SteppingRandomSource extends LegacyRandomSource {
+        SteppingRandomSource(long seed) {
+            super(seed);
+        }
+
+        @Override
+        public void consumeCount(int count) {
+            for (int i = 0; i < count; i++) {
+                this.nextInt();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package nl.kallestruik.noisesampler.bench;
+
+import java.util.Random;
+
+import nl.kallestruik.noisesampler.minecraft.LegacyRandomSource;
+import nl.kallestruik.noisesampler.minecraft.SingleThreadedRandomSource;
+import nl.kallestruik.noisesampler.minecraft.Xoroshiro128PlusPlusRandom;
+
+/**
+ * Checks the jump-ahead of the random sources against plain stepping: for every count from 0 to
+ * {@value #MAX_COUNT}, a source that skipped the count must continue exactly like one that stepped that often.
+ * This is what proves the LCG jump tables, and the characteristic polynomial and power table behind the Xoroshiro
+ * jump, right. Exits with status 1 on the first mismatch.
+ */
+public final class RandomJumpCheck {
+    private static final int MAX_COUNT = 1 << 20;
+    private static final int SEEDS = 3;
+
+    private RandomJumpCheck() {
+    }
+
+    public static void main(String[] args) {
+        Random seeds = new Random(20);
+        for (int s = 0; s < SEEDS; s++) {
+            long seed = seeds.nextLong();
+            checkLegacy(seed);
+            checkXoroshiro(seeds.nextLong(), seeds.nextLong());
+        }
+        System.out.printf("OK: jumps match stepping for counts 0 to %d, %d seeds%n", MAX_COUNT, SEEDS);
+    }
+
+    /**
+     * Two consecutive 32 bit outputs after the skip pin down the 48 bit state, so they are compared with the outputs
+     * a stepped source gives at the same position.
+     */
+    private static void checkLegacy(long seed) {
+        int[] stepped = new int[MAX_COUNT + 2];
+        SingleThreadedRandomSource reference = new SingleThreadedRandomSource(seed);
+        for (int i = 0; i < stepped.length; i++) {
+            stepped[i] = reference.next(32);
+        }
+        for (int count = 0; count <= MAX_COUNT; count++) {
+            LegacyRandomSource legacy = new LegacyRandomSource(seed);
+            legacy.consumeCount(count);
+            if (legacy.next(32) != stepped[count] || legacy.next(32) != stepped[count + 1]) {
+                fail("LegacyRandomSource", seed, count);
+            }
+            SingleThreadedRandomSource single = new SingleThreadedRandomSource(seed);
+            single.consumeCount(count);
+            if (single.next(32) != stepped[count] || single.next(32) != stepped[count + 1]) {
+                fail("SingleThreadedRandomSource", seed, count);
+            }
+        }
+    }
+
+    private static void checkXoroshiro(long lo, long hi) {
+        Xoroshiro128PlusPlusRandom stepped = new Xoroshiro128PlusPlusRandom(lo, hi);
+        for (int count = 0; count <= MAX_COUNT; count++) {
+            Xoroshiro128PlusPlusRandom skipped = new Xoroshiro128PlusPlusRandom(lo, hi);
+            skipped.skip(count);
+            if (skipped.seed.loSeed != stepped.seed.loSeed || skipped.seed.hiSeed != stepped.seed.hiSeed) {
+                fail("Xoroshiro128PlusPlusRandom", lo, count);
+            }
+            stepped.nextLong();
+        }
+    }
+
+    private static void fail(String source, long seed, int count) {
+        System.err.printf("FAILED: %s with seed %d differs from stepping after %d steps%n", source, seed, count);
+        System.exit(1);
+    }
+}
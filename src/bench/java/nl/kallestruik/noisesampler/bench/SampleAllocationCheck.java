@@ -0,0 +1,81 @@
+package nl.kallestruik.noisesampler.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import com.sun.management.ThreadMXBean;
+import nl.kallestruik.noisesampler.NoiseSampler;
+import nl.kallestruik.noisesampler.NoiseType;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+/**
+ * Checks that {@link NoiseSampler#sample(NoiseType, int, int, int)} and
+ * {@link NoiseSampler#sample(NoiseType[], int, int, int, double[])} allocate nothing once warmed up, in every
+ * dimension, by counting the bytes the thread allocates over many samples. {@code queryNoise} is measured alongside
+ * for comparison. Exits with status 1 if either primitive call allocates.
+ */
+public final class SampleAllocationCheck {
+    private static final int WARMUP_SAMPLES = 200_000;
+    private static final int SAMPLES = 200_000;
+    private static final long[] SEEDS = {0L, 1L, -4172144997902289642L};
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static double sink;
+
+    private SampleAllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.err.println("This JVM cannot count allocated bytes per thread");
+            System.exit(2);
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        NoiseType[] types = NoiseType.values();
+        boolean allocates = false;
+        for (Dimension dimension : Dimension.values()) {
+            for (long seed : SEEDS) {
+                NoiseSampler sampler = new NoiseSampler(seed, dimension);
+                double[] out = new double[types.length];
+                for (int pass = 0; pass < 2; pass++) {
+                    boolean measure = pass == 1;
+                    int samples = measure ? SAMPLES : WARMUP_SAMPLES;
+                    double single = bytesPerSample(samples, (x, y, z, i) ->
+                            sink += sampler.sample(types[i % types.length], x, y, z));
+                    double all = bytesPerSample(samples / types.length, (x, y, z, i) -> {
+                        sampler.sample(types, x, y, z, out);
+                        sink += out[i % types.length];
+                    });
+                    double query = bytesPerSample(samples / types.length, (x, y, z, i) ->
+                            sink += sampler.queryNoise(x, y, z, types).size());
+                    if (measure) {
+                        System.out.printf("%-9s seed %20d: sample %.1f B, sample all %.1f B, queryNoise all %.1f B%n",
+                                dimension, seed, single, all, query);
+                        allocates |= single > 0.0 || all > 0.0;
+                    }
+                }
+            }
+        }
+        if (allocates) {
+            System.err.println("FAILED: the primitive sample calls allocate");
+            System.exit(1);
+        }
+        System.out.println("OK: 0 bytes per sample");
+    }
+
+    /** Bytes the current thread allocates per call, over {@code count} calls at pseudo-random positions. */
+    private static double bytesPerSample(int count, Sample sample) {
+        Random random = new Random(count);
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < count; i++) {
+            sample.run(random.nextInt(4096) - 2048, random.nextInt(384) - 64, random.nextInt(4096) - 2048, i);
+        }
+        long after = THREADS.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / count;
+    }
+
+    private interface Sample {
+        void run(int x, int y, int z, int i);
+    }
+}
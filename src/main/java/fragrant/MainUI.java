@@ -28,9 +28,11 @@ import com.formdev.flatlaf.FlatDarkLaf;
 import fragrant.components.mapviewer.core.MapViewerPanel;
 import fragrant.memory.SearchConditionStorage;
 import fragrant.components.NoiseResultPanel;
+import fragrant.components.TelemetryPanel;
 import fragrant.components.SearchPanel;
 import fragrant.settings.SettingsDialog;
 import fragrant.settings.AppSettings;
+import fragrant.search.SearchTelemetry;
 
 public class MainUI extends JFrame {
     private final Timer statusUpdateTimer;
@@ -43,7 +45,9 @@ public class MainUI extends JFrame {
     private JLabel speedLabel;
     private JLabel elapsedTimeLabel;
 
-    private long processedSeeds = 0;
+    private final TelemetryPanel telemetryPanel;
+    private SearchTelemetry telemetry;
+    private long resultWaitsAtStart;
     private Instant startTime;
 
     public MainUI() {
@@ -53,6 +57,7 @@ public class MainUI extends JFrame {
 
         searchPanel = new SearchPanel(this);
         resultPanel = new NoiseResultPanel();
+        telemetryPanel = new TelemetryPanel();
         statusPanel = createStatusPanel();
         MapViewerPanel mapViewerPanel = new MapViewerPanel();
 
@@ -61,6 +66,7 @@ public class MainUI extends JFrame {
 
         rightTabbedPane.addTab("Results", resultPanel);
         rightTabbedPane.addTab("Map Viewer", mapViewerPanel);
+        rightTabbedPane.addTab("Telemetry", telemetryPanel);
 
         JSplitPane mainSplitPane = new JSplitPane(
                 JSplitPane.HORIZONTAL_SPLIT,
@@ -216,6 +222,7 @@ public class MainUI extends JFrame {
         SwingUtilities.invokeLater(() -> {
             updateComponentFonts(searchPanel, baseFont);
             updateComponentFonts(resultPanel, baseFont);
+            updateComponentFonts(telemetryPanel, baseFont);
             updateComponentFonts(statusPanel, baseFont);
         });
     }
@@ -231,22 +238,24 @@ public class MainUI extends JFrame {
         }
     }
 
-    public void startSearch() {
-        processedSeeds = 0;
+    public void startSearch(SearchTelemetry telemetry) {
+        this.telemetry = telemetry;
         startTime = Instant.now();
+        resultWaitsAtStart = resultPanel.getBackPressureCount();
+        telemetryPanel.reset();
+        telemetryPanel.update(telemetry.snapshot(), 0);
         statusUpdateTimer.start();
     }
 
     public void stopSearch() {
         statusUpdateTimer.stop();
-    }
-
-    public void incrementProcessedSeeds() {
-        processedSeeds++;
+        updateStatus();
     }
 
     private void updateStatus() {
-        if (startTime != null) {
+        if (startTime != null && telemetry != null) {
+            SearchTelemetry.Snapshot snapshot = telemetry.snapshot();
+            long processedSeeds = snapshot.getSeeds();
             Duration elapsed = Duration.between(startTime, Instant.now());
             long seconds = elapsed.getSeconds();
             double speed = seconds > 0 ? (double) processedSeeds / seconds : 0;
@@ -255,6 +264,7 @@ public class MainUI extends JFrame {
             speedLabel.setText(String.format("Speed: %.1f seeds/s", speed));
             elapsedTimeLabel.setText(String.format("Time: %02d:%02d:%02d",
                     seconds / 3600, (seconds % 3600) / 60, seconds % 60));
+            telemetryPanel.update(snapshot, resultPanel.getBackPressureCount() - resultWaitsAtStart);
         }
     }
 
@@ -0,0 +1,45 @@
+package fragrant.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** Serialises matches from all workers and flushes each one, so a killed run loses nothing it reported. */
+final class MatchWriter {
+    private final Writer writer;
+    private long count;
+    private boolean closed;
+
+    MatchWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    synchronized void write(long seed) {
+        if (closed) {
+            return;
+        }
+        try {
+            writer.write(Long.toString(seed));
+            writer.write('\n');
+            writer.flush();
+            count++;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write match " + seed, e);
+        }
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
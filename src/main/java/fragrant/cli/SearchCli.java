@@ -0,0 +1,285 @@
+package fragrant.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import fragrant.memory.SearchConditionStorage.SearchConfig;
+import fragrant.search.ConditionOrder;
+import fragrant.search.SamplerKind;
+import fragrant.search.SearchTelemetry;
+import fragrant.search.SearchEngine;
+import fragrant.search.ConditionPlan;
+import fragrant.search.SeedSource;
+import fragrant.search.SeedFiles;
+import fragrant.search.SeedMode;
+
+/**
+ * Headless search runner for machines without a display. Reads a search config saved by the GUI, runs it on
+ * the same engine and streams matching seeds to a file or stdout, one per line. Never touches Swing or FlatLaf.
+ */
+public final class SearchCli {
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+    private static final String USAGE = String.join("\n",
+            "Usage: java -cp NoiseSamplerGUI.jar fragrant.cli.SearchCli --config <file> [options]",
+            "",
+            "  --config <file>      search conditions saved from the GUI (JSON)",
+            "  --output <file>      write matching seeds here instead of stdout",
+            "  --threads <n>        worker threads (default: config, else all cores)",
+            "  --mode <mode>        full | lower32 | lower48 | file (default: config)",
+            "  --start <seed>       start seed for counter modes (default: config)",
+            "  --fixed-bits <bits>  fixed lower bits for lower32/lower48 (default: config)",
+            "  --seeds <file>       seed list for file mode (default: config)",
+            "  --order <order>      adaptive | fixed condition order (default: config)",
+            "",
+            "  --processes <n>      run the search in n worker JVMs started by this process",
+            "  --worker-heap <size> maximum heap of each worker JVM, e.g. 4g",
+            "  --checkpoint <file>  with --processes: save progress here and resume from it if it exists");
+
+    private SearchCli() {
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static int run(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.println(USAGE);
+            return 0;
+        }
+        String configPath = options.get("config");
+        if (configPath == null) {
+            throw new IllegalArgumentException("--config is required");
+        }
+
+        SearchConfig config;
+        try (Reader reader = Files.newBufferedReader(Paths.get(configPath))) {
+            config = new Gson().fromJson(reader, SearchConfig.class);
+        }
+        if (config == null) {
+            throw new JsonParseException("Failed to parse config file: empty or invalid content");
+        }
+
+        ConditionPlan plan = config.toPlan();
+        if (plan.isEmpty()) {
+            throw new IllegalArgumentException("the config contains no search conditions");
+        }
+
+        SeedMode mode = parseMode(options.get("mode"), config);
+        long startSeed = options.containsKey("start") ? parseLong("--start", options.get("start")) : config.startSeed;
+        SeedSource source;
+        if (mode == SeedMode.FILE) {
+            String seedsPath = options.getOrDefault("seeds", config.seedFilePath);
+            if (seedsPath == null || seedsPath.isEmpty()) {
+                throw new IllegalArgumentException("file mode needs --seeds");
+            }
+            source = SeedFiles.open(Paths.get(seedsPath));
+            config.seedFilePath = seedsPath;
+        } else {
+            long fixedBits = 0;
+            if (mode.usesFixedBits()) {
+                String fixedBitsText = options.getOrDefault("fixed-bits", config.fixedBits);
+                if (fixedBitsText == null || fixedBitsText.isEmpty()) {
+                    throw new IllegalArgumentException(mode.getLabel() + " needs --fixed-bits");
+                }
+                fixedBits = parseLong("--fixed-bits", fixedBitsText);
+                config.fixedBits = fixedBitsText;
+            }
+            source = mode.counter(startSeed, fixedBits, plan.hasStructureChecks());
+        }
+
+        int threads = options.containsKey("threads")
+                ? (int) parseLong("--threads", options.get("threads"))
+                : config.threadCount > 0 ? config.threadCount : Runtime.getRuntime().availableProcessors();
+        if (threads < 1) {
+            throw new IllegalArgumentException("--threads must be at least 1");
+        }
+        ConditionOrder order = parseOrder(options.get("order"), config);
+
+        if (options.containsKey("connect")) {
+            int port = (int) parseLong("--connect", options.get("connect"));
+            return SearchWorker.run(plan, order, source, threads, port);
+        }
+        if (options.containsKey("processes")) {
+            int processes = (int) parseLong("--processes", options.get("processes"));
+            if (processes < 1) {
+                throw new IllegalArgumentException("--processes must be at least 1");
+            }
+            if (!options.containsKey("threads")) {
+                threads = Math.max(1, Runtime.getRuntime().availableProcessors() / processes);
+            }
+            config.searchMode = mode.getLabel();
+            config.startSeed = startSeed;
+            config.threadCount = threads;
+            config.conditionOrder = order.toString();
+            return new SearchCoordinator(config, source, processes, threads, options).run();
+        }
+
+        Writer output = options.containsKey("output")
+                ? Files.newBufferedWriter(Paths.get(options.get("output")), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        MatchWriter matches = new MatchWriter(output);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        SearchEngine engine = new SearchEngine(plan, order, source, threads,
+                new SearchEngine.Listener() {
+                    @Override
+                    public void onMatch(long seed) {
+                        matches.write(seed);
+                    }
+
+                    @Override
+                    public void onFinished(SearchEngine engine) {
+                        finished.countDown();
+                    }
+
+                    @Override
+                    public void onFailed(SearchEngine engine, Throwable error) {
+                        finished.countDown();
+                    }
+                });
+
+        PrintStream log = System.err;
+        log.printf("Searching %s with %d threads, %s condition order%n", mode.getLabel(), threads, order);
+        Thread shutdownHook = new Thread(() -> {
+            engine.stop();
+            try {
+                engine.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            matches.close();
+            log.printf("Stopped after %,d seeds, %,d matches.%n",
+                    engine.getScheduler().getCompletedCount(), matches.getCount());
+            if (mode != SeedMode.FILE) {
+                log.printf("Resume with --start %d%n", source.seedAt(engine.getScheduler().getWatermark()));
+            }
+        }, "search-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        long startNanos = System.nanoTime();
+        engine.start();
+        try {
+            while (!finished.await(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                SearchTelemetry.Snapshot snapshot = engine.getTelemetry().snapshot();
+                double seconds = (System.nanoTime() - startNanos) / 1e9;
+                log.printf("%,d seeds, %,.1f seeds/s, %,d matches%s%n",
+                        snapshot.getSeeds(), snapshot.getSeeds() / seconds, matches.getCount(), constructionSummary(snapshot));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        matches.close();
+        Throwable failure = engine.getFailure();
+        if (failure != null) {
+            log.print("Search failed: ");
+            failure.printStackTrace(log);
+            log.printf("Stopped after %,d seeds, %,d matches.%n",
+                    engine.getScheduler().getCompletedCount(), matches.getCount());
+            if (mode != SeedMode.FILE) {
+                log.printf("Resume with --start %d%n", source.seedAt(engine.getScheduler().getWatermark()));
+            }
+            return 1;
+        }
+        log.printf("Finished: %,d seeds checked, %,d matches.%n",
+                engine.getScheduler().getCompletedCount(), matches.getCount());
+        return 0;
+    }
+
+    /** Average sampler construction time per seed of every stage that built one, e.g. ", noise build 0.412 ms". */
+    private static String constructionSummary(SearchTelemetry.Snapshot snapshot) {
+        StringBuilder summary = new StringBuilder();
+        for (SamplerKind kind : SamplerKind.values()) {
+            long builds = snapshot.getBuilds(kind);
+            if (builds > 0) {
+                summary.append(String.format(", %s build %.3f ms", kind.name().toLowerCase(Locale.ROOT),
+                        snapshot.getBuildNanos(kind) / 1e6 / builds));
+            }
+        }
+        return summary.toString();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-h") || arg.equals("--help")) {
+                options.put("help", "");
+                continue;
+            }
+            if (!arg.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("unexpected argument: " + arg);
+            }
+            options.put(arg.substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static SeedMode parseMode(String value, SearchConfig config) {
+        if (value == null) {
+            return config.searchMode == null ? SeedMode.FULL_RANGE : SeedMode.fromLabel(config.searchMode);
+        }
+        switch (value) {
+            case "full":
+                return SeedMode.FULL_RANGE;
+            case "lower32":
+                return SeedMode.FIXED_LOWER_32;
+            case "lower48":
+                return SeedMode.FIXED_LOWER_48;
+            case "file":
+                return SeedMode.FILE;
+            default:
+                throw new IllegalArgumentException("unknown mode: " + value);
+        }
+    }
+
+    private static ConditionOrder parseOrder(String value, SearchConfig config) {
+        if (value == null) {
+            return ConditionOrder.fromLabel(config.conditionOrder);
+        }
+        switch (value) {
+            case "adaptive":
+                return ConditionOrder.ADAPTIVE;
+            case "fixed":
+                return ConditionOrder.FIXED;
+            default:
+                throw new IllegalArgumentException("unknown order: " + value);
+        }
+    }
+
+    private static long parseLong(String option, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " expects a number, got: " + value);
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package fragrant.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonSyntaxException;
+
+import fragrant.memory.SearchCheckpointStorage;
+import fragrant.memory.SearchCheckpointStorage.SearchCheckpoint;
+import fragrant.memory.SearchConditionStorage.SearchConfig;
+import fragrant.search.SeedMode;
+import fragrant.search.SeedSource;
+
+/**
+ * Runs one search across several worker JVMs on this machine, so each worker has its own heap and GC.
+ * Workers are this same program started with {@code --connect}; they talk to the coordinator over a
+ * loopback socket with one text line per message:
+ * <pre>
+ * worker:      HELLO pid | LEASE | MATCH lease seed | PROGRESS lease [from to]... | COMPLETE lease
+ * coordinator: RANGE lease from to | END
+ * </pre>
+ * A lease is an index range of the seed source. Workers report the part of it still pending every few seconds;
+ * when a worker dies, whatever it had not finished goes back to the front of the queue for the next worker.
+ * Matches already reported from a range are remembered with it, so re-running the range does not repeat them;
+ * when resuming from a checkpoint, the matches already in the output file are skipped the same way.
+ */
+final class SearchCoordinator {
+    static final String HELLO = "HELLO";
+    static final String LEASE = "LEASE";
+    static final String RANGE = "RANGE";
+    static final String END = "END";
+    static final String MATCH = "MATCH";
+    static final String PROGRESS = "PROGRESS";
+    static final String COMPLETE = "COMPLETE";
+
+    private static final long MIN_LEASE = 256;
+    private static final long MAX_LEASE = 1L << 40;
+    private static final long TARGET_LEASE_NANOS = 30_000_000_000L;
+    private static final int MAX_GROWTH = 4;
+    private static final long PROGRESS_INTERVAL_NANOS = 10_000_000_000L;
+    private static final long CHECKPOINT_INTERVAL_NANOS = 30_000_000_000L;
+    private static final int MAX_RESTARTS = 3;
+    private static final Set<String> COORDINATOR_OPTIONS =
+            Set.of("processes", "worker-heap", "checkpoint", "output", "threads", "connect");
+
+    private final SearchConfig config;
+    private final long limit;
+    private final int processCount;
+    private final int threads;
+    private final Map<String, String> options;
+    private final Path checkpointPath;
+    private final PrintStream log = System.err;
+
+    private final Deque<Range> backlog = new ArrayDeque<>();
+    private final Map<Long, Lease> leases = new HashMap<>();
+    private final Set<Long> earlierMatches = new HashSet<>();
+    private long cursor;
+    private long nextLeaseId;
+    private long previouslyCompleted;
+    private long initialPending;
+    private boolean stopping;
+
+    private MatchWriter matches;
+    private ServerSocket server;
+    private Process[] workers;
+    private int[] restarts;
+
+    SearchCoordinator(SearchConfig config, SeedSource source, int processCount, int threads,
+                      Map<String, String> options) {
+        this.config = config;
+        this.limit = source.size();
+        this.processCount = processCount;
+        this.threads = threads;
+        this.options = options;
+        this.checkpointPath = options.containsKey("checkpoint") ? Paths.get(options.get("checkpoint")) : null;
+    }
+
+    int run() throws IOException {
+        boolean resuming = checkpointPath != null && Files.exists(checkpointPath);
+        if (resuming) {
+            SearchCheckpoint checkpoint;
+            try {
+                checkpoint = SearchCheckpointStorage.loadCheckpoint(checkpointPath);
+            } catch (JsonSyntaxException e) {
+                throw new IOException("Cannot read checkpoint " + checkpointPath + ": " + e.getMessage(), e);
+            }
+            if (checkpoint.seedCount != limit || !isSameSearch(checkpoint.config, config)) {
+                throw new IllegalArgumentException("the checkpoint " + checkpointPath
+                        + " was saved for a different search; use the same config and options or remove it");
+            }
+            resume(checkpoint);
+            log.printf("Resuming from %s: %,d seeds already checked%n", checkpointPath, previouslyCompleted);
+        }
+        initialPending = pendingCount();
+
+        Writer output;
+        if (options.containsKey("output")) {
+            Path outputPath = Paths.get(options.get("output"));
+            if (resuming && Files.exists(outputPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(outputPath, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            earlierMatches.add(Long.parseLong(line.trim()));
+                        }
+                    }
+                }
+            }
+            output = resuming
+                    ? Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8);
+        } else {
+            output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        matches = new MatchWriter(output);
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptWorkers, "search-coordinator-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        workers = new Process[processCount];
+        restarts = new int[processCount];
+        for (int i = 0; i < processCount; i++) {
+            workers[i] = startWorker();
+        }
+        log.printf("Searching %s in %d worker processes with %d threads each%n",
+                config.searchMode, processCount, threads);
+
+        Thread shutdownHook = new Thread(() -> {
+            shutdown();
+            log.printf("Stopped with %,d seeds left, %,d matches.%n", pendingCount(), matches.getCount());
+            if (checkpointPath != null) {
+                log.printf("Resume with the same arguments; progress is in %s%n", checkpointPath);
+            }
+        }, "search-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        long startNanos = System.nanoTime();
+        long nextProgress = startNanos + PROGRESS_INTERVAL_NANOS;
+        long nextCheckpoint = startNanos + CHECKPOINT_INTERVAL_NANOS;
+        try {
+            while (!awaitDone(1, TimeUnit.SECONDS)) {
+                if (!restartDeadWorkers()) {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                    shutdown();
+                    log.printf("All workers failed with %,d seeds left.%n", pendingCount());
+                    return 1;
+                }
+                long now = System.nanoTime();
+                if (now >= nextProgress) {
+                    long done = initialPending - pendingCount();
+                    log.printf("%,d seeds, %,.1f seeds/s, %,d matches, %d leases out%n",
+                            done, done / ((now - startNanos) / 1e9), matches.getCount(), leaseCount());
+                    nextProgress = now + PROGRESS_INTERVAL_NANOS;
+                }
+                if (now >= nextCheckpoint) {
+                    saveCheckpoint();
+                    nextCheckpoint = now + CHECKPOINT_INTERVAL_NANOS;
+                }
+            }
+        } catch (InterruptedException e) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            shutdown();
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        for (Process worker : workers) {
+            try {
+                if (!worker.waitFor(10, TimeUnit.SECONDS)) {
+                    worker.destroy();
+                }
+            } catch (InterruptedException e) {
+                worker.destroy();
+                Thread.currentThread().interrupt();
+            }
+        }
+        server.close();
+        matches.close();
+        if (checkpointPath != null) {
+            Files.deleteIfExists(checkpointPath);
+        }
+        log.printf("Finished: %,d seeds checked, %,d matches.%n", initialPending, matches.getCount());
+        return 0;
+    }
+
+    /**
+     * Whether two configs check the same seeds against the same conditions, so the pending ranges of one apply to
+     * the other. Thread count and condition order do not change which seeds match.
+     */
+    private static boolean isSameSearch(SearchConfig saved, SearchConfig current) {
+        if (!Objects.equals(saved.searchMode, current.searchMode)
+                || !saved.toPlan().getChecks().equals(current.toPlan().getChecks())) {
+            return false;
+        }
+        SeedMode mode = SeedMode.fromLabel(current.searchMode);
+        if (mode == SeedMode.FILE) {
+            return Objects.equals(saved.seedFilePath, current.seedFilePath);
+        }
+        return saved.startSeed == current.startSeed
+                && (!mode.usesFixedBits() || Objects.equals(saved.fixedBits, current.fixedBits));
+    }
+
+    /** Same split as {@code SeedRangeScheduler}: the range that ends at the limit becomes the cursor. */
+    private void resume(SearchCheckpoint checkpoint) {
+        cursor = limit;
+        for (long[] range : checkpoint.pendingRanges) {
+            if (range[1] == limit && range[0] < cursor) {
+                if (cursor < limit) {
+                    backlog.add(new Range(cursor, limit, new HashSet<>()));
+                }
+                cursor = range[0];
+            } else if (range[0] < range[1]) {
+                backlog.add(new Range(range[0], range[1], new HashSet<>()));
+            }
+        }
+        previouslyCompleted = checkpoint.completedSeeds;
+    }
+
+    private Process startWorker() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (options.containsKey("worker-heap")) {
+            command.add("-Xmx" + options.get("worker-heap"));
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SearchCli.class.getName());
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            if (!COORDINATOR_OPTIONS.contains(option.getKey())) {
+                command.add("--" + option.getKey());
+                command.add(option.getValue());
+            }
+        }
+        command.add("--threads");
+        command.add(String.valueOf(threads));
+        command.add("--connect");
+        command.add(String.valueOf(server.getLocalPort()));
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .directory(new File(System.getProperty("user.dir")))
+                .start();
+    }
+
+    /**
+     * Replaces workers that crashed, e.g. on an OutOfMemoryError; their leases are re-queued by the handler.
+     * Returns false once every worker has failed for good, since nothing would finish the search then.
+     */
+    private boolean restartDeadWorkers() throws IOException {
+        boolean anyAlive = false;
+        for (int i = 0; i < workers.length; i++) {
+            Process worker = workers[i];
+            if (!worker.isAlive() && worker.exitValue() != 0 && restarts[i] < MAX_RESTARTS) {
+                restarts[i]++;
+                log.printf("Worker %d exited with code %d, restarting (%d/%d)%n",
+                        worker.pid(), worker.exitValue(), restarts[i], MAX_RESTARTS);
+                workers[i] = startWorker();
+            }
+            anyAlive |= workers[i].isAlive();
+        }
+        return anyAlive || isDone();
+    }
+
+    private void acceptWorkers() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> handleWorker(socket), "search-coordinator-worker");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void handleWorker(Socket socket) {
+        long leaseSize = MIN_LEASE;
+        Lease lease = null;
+        try (socket) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split(" ");
+                switch (parts[0]) {
+                    case HELLO -> {
+                    }
+                    case LEASE -> {
+                        lease = acquire(leaseSize);
+                        if (lease == null) {
+                            out.write(END + "\n");
+                            out.flush();
+                            return;
+                        }
+                        long[] range = lease.pending.get(0);
+                        out.write(RANGE + " " + lease.id + " " + range[0] + " " + range[1] + "\n");
+                        out.flush();
+                    }
+                    case MATCH -> reportMatch(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                    case PROGRESS -> {
+                        List<long[]> pending = new ArrayList<>();
+                        for (int i = 2; i + 1 < parts.length; i += 2) {
+                            pending.add(new long[] {Long.parseLong(parts[i]), Long.parseLong(parts[i + 1])});
+                        }
+                        updateProgress(Long.parseLong(parts[1]), pending);
+                    }
+                    case COMPLETE -> {
+                        if (lease != null && lease.id == Long.parseLong(parts[1])) {
+                            long elapsed = Math.max(1L, System.nanoTime() - lease.startNanos);
+                            long target = (long) (lease.size * ((double) TARGET_LEASE_NANOS / elapsed));
+                            leaseSize = Math.max(MIN_LEASE, Math.min(Math.min(target, leaseSize * MAX_GROWTH), MAX_LEASE));
+                            complete(lease);
+                            lease = null;
+                        }
+                    }
+                    default -> throw new IOException("Unexpected message from worker: " + line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.println("Lost a worker: " + e.getMessage());
+        } finally {
+            if (lease != null) {
+                abandon(lease);
+            }
+        }
+    }
+
+    /**
+     * Hands out the next lease: re-queued ranges first, then fresh ones from the cursor. Blocks while other
+     * workers still hold leases that might come back, and returns null once everything is done or stopping.
+     */
+    private synchronized Lease acquire(long size) {
+        while (true) {
+            if (stopping) {
+                return null;
+            }
+            Range range = backlog.poll();
+            if (range != null) {
+                if (range.to - range.from > size) {
+                    backlog.push(new Range(range.from + size, range.to, range.reported));
+                    range = new Range(range.from, range.from + size, range.reported);
+                }
+                return newLease(range);
+            }
+            if (cursor < limit) {
+                size = Math.min(size, Math.max(MIN_LEASE, (limit - cursor) / processCount));
+                long end = limit - cursor > size ? cursor + size : limit;
+                range = new Range(cursor, end, new HashSet<>());
+                cursor = end;
+                return newLease(range);
+            }
+            if (leases.isEmpty()) {
+                notifyAll();
+                return null;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private Lease newLease(Range range) {
+        Lease lease = new Lease(nextLeaseId++, range);
+        leases.put(lease.id, lease);
+        return lease;
+    }
+
+    private void reportMatch(long leaseId, long seed) {
+        synchronized (this) {
+            Lease lease = leases.get(leaseId);
+            if (lease != null && !lease.reported.add(seed) || earlierMatches.contains(seed)) {
+                return;
+            }
+        }
+        matches.write(seed);
+    }
+
+    private synchronized void updateProgress(long leaseId, List<long[]> pending) {
+        Lease lease = leases.get(leaseId);
+        if (lease != null) {
+            lease.pending = pending;
+        }
+    }
+
+    private synchronized void complete(Lease lease) {
+        leases.remove(lease.id);
+        notifyAll();
+    }
+
+    /** Puts what a lost worker had not finished back at the front of the queue. */
+    private synchronized void abandon(Lease lease) {
+        if (leases.remove(lease.id) == null) {
+            return;
+        }
+        for (int i = lease.pending.size() - 1; i >= 0; i--) {
+            long[] range = lease.pending.get(i);
+            backlog.push(new Range(range[0], range[1], lease.reported));
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean isDone() {
+        return backlog.isEmpty() && cursor >= limit && leases.isEmpty();
+    }
+
+    private synchronized boolean awaitDone(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!isDone()) {
+            wait(unit.toMillis(timeout));
+        }
+        return isDone();
+    }
+
+    private synchronized int leaseCount() {
+        return leases.size();
+    }
+
+    private synchronized List<long[]> pendingRanges() {
+        List<long[]> ranges = new ArrayList<>();
+        for (Range range : backlog) {
+            ranges.add(new long[] {range.from, range.to});
+        }
+        for (Lease lease : leases.values()) {
+            for (long[] range : lease.pending) {
+                ranges.add(range.clone());
+            }
+        }
+        if (cursor < limit) {
+            ranges.add(new long[] {cursor, limit});
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        return ranges;
+    }
+
+    private long pendingCount() {
+        long pending = 0;
+        for (long[] range : pendingRanges()) {
+            pending += range[1] - range[0];
+        }
+        return pending;
+    }
+
+    private synchronized void saveCheckpoint() {
+        if (checkpointPath == null) {
+            return;
+        }
+        List<long[]> pending = pendingRanges();
+        long pendingSeeds = 0;
+        for (long[] range : pending) {
+            pendingSeeds += range[1] - range[0];
+        }
+        long completed = previouslyCompleted + initialPending - pendingSeeds;
+        try {
+            SearchCheckpointStorage.saveCheckpoint(
+                    SearchCheckpointStorage.createCheckpoint(config, limit, completed, pending), checkpointPath);
+        } catch (IOException e) {
+            log.println("Failed to save checkpoint: " + e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        synchronized (this) {
+            stopping = true;
+            notifyAll();
+        }
+        saveCheckpoint();
+        for (Process worker : workers) {
+            worker.destroy();
+        }
+        matches.close();
+    }
+
+    private static final class Range {
+        final long from;
+        final long to;
+        final Set<Long> reported;
+
+        Range(long from, long to, Set<Long> reported) {
+            this.from = from;
+            this.to = to;
+            this.reported = reported;
+        }
+    }
+
+    private static final class Lease {
+        final long id;
+        final long size;
+        final long startNanos = System.nanoTime();
+        final Set<Long> reported;
+        List<long[]> pending;
+
+        Lease(long id, Range range) {
+            this.id = id;
+            this.size = range.to - range.from;
+            this.reported = range.reported;
+            this.pending = List.of(new long[] {range.from, range.to});
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package fragrant.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import fragrant.search.ConditionOrder;
+import fragrant.search.ConditionPlan;
+import fragrant.search.SearchEngine;
+import fragrant.search.SeedSource;
+
+/**
+ * Worker side of {@link SearchCoordinator}: connects back to the coordinator, then leases index ranges and
+ * runs each one on a local {@link SearchEngine} until the coordinator has nothing left to hand out. Each lease
+ * starts from the condition order learned on the previous one, so only the first lease of a worker warms up.
+ */
+final class SearchWorker {
+    private static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+    private final ConditionPlan plan;
+    private final ConditionOrder order;
+    private final SeedSource source;
+    private final int threads;
+    private final Writer out;
+    private volatile boolean connectionLost = false;
+    /** The engine of the previous lease, whose learned condition order the next lease starts from. */
+    private SearchEngine previous;
+
+    private SearchWorker(ConditionPlan plan, ConditionOrder order, SeedSource source, int threads, Writer out) {
+        this.plan = plan;
+        this.order = order;
+        this.source = source;
+        this.threads = threads;
+        this.out = out;
+    }
+
+    static int run(ConditionPlan plan, ConditionOrder order, SeedSource source, int threads, int port)
+            throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            SearchWorker worker = new SearchWorker(plan, order, source, threads, out);
+
+            worker.send(SearchCoordinator.HELLO + " " + ProcessHandle.current().pid());
+            while (!worker.connectionLost) {
+                worker.send(SearchCoordinator.LEASE);
+                String line = in.readLine();
+                if (line == null || line.equals(SearchCoordinator.END)) {
+                    return 0;
+                }
+                String[] parts = line.split(" ");
+                if (parts.length != 4 || !parts[0].equals(SearchCoordinator.RANGE)) {
+                    throw new IOException("Unexpected message from coordinator: " + line);
+                }
+                worker.runLease(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            }
+            return 1;
+        }
+    }
+
+    private void runLease(long id, long from, long to) {
+        CountDownLatch finished = new CountDownLatch(1);
+        List<long[]> range = List.of(new long[] {from, to});
+        SearchEngine.Listener listener = new SearchEngine.Listener() {
+            @Override
+            public void onMatch(long seed) {
+                send(SearchCoordinator.MATCH + " " + id + " " + seed);
+            }
+
+            @Override
+            public void onFinished(SearchEngine engine) {
+                finished.countDown();
+            }
+
+            @Override
+            public void onFailed(SearchEngine engine, Throwable error) {
+                finished.countDown();
+            }
+        };
+        SearchEngine engine = previous == null
+                ? new SearchEngine(plan, order, source, threads, range, listener)
+                : new SearchEngine(previous, range, listener);
+        previous = engine;
+
+        engine.start();
+        try {
+            while (!finished.await(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                StringBuilder progress = new StringBuilder(SearchCoordinator.PROGRESS).append(' ').append(id);
+                for (long[] pending : engine.getScheduler().getPendingRanges()) {
+                    progress.append(' ').append(pending[0]).append(' ').append(pending[1]);
+                }
+                send(progress.toString());
+                if (connectionLost) {
+                    engine.stop();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            engine.stop();
+            Thread.currentThread().interrupt();
+            connectionLost = true;
+            return;
+        }
+        Throwable failure = engine.getFailure();
+        if (failure != null) {
+            // Dropping the connection makes the coordinator hand what is left of the lease to another worker.
+            System.err.print("Worker " + ProcessHandle.current().pid() + " failed: ");
+            failure.printStackTrace();
+            connectionLost = true;
+            return;
+        }
+        send(SearchCoordinator.COMPLETE + " " + id);
+    }
+
+    /** Writes one protocol line. A failed write means the coordinator is gone, which ends this worker. */
+    private synchronized void send(String line) {
+        if (connectionLost) {
+            return;
+        }
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            connectionLost = true;
+        }
+    }
+}
@@ -1,22 +1,25 @@
 package fragrant.components;
 
 import javax.swing.plaf.basic.BasicMenuItemUI;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import javax.swing.*;
 
 import fragrant.memory.SeedMemoryStorage;
 import fragrant.settings.AppSettings;
 import fragrant.memory.SeedMemory;
+import fragrant.search.SeedRing;
 
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.*;
 import java.awt.*;
 
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class NoiseResultPanel extends JPanel {
@@ -24,21 +27,36 @@ public class NoiseResultPanel extends JPanel {
     private final JList<SeedMemory> seedList;
     private final JPopupMenu popupMenu;
     private final JTextField descriptionField;
-    private final BlockingQueue<SeedMemory> resultQueue;
+    private final SeedRing resultRing;
     private volatile boolean isProcessing = false;
+    private volatile int resultCount = 0;
+    private volatile Runnable limitListener;
     private static final int SAVE_INTERVAL = 5000;
     private static final int UPDATE_INTERVAL = 100;
+    private static final int RING_CAPACITY = 1 << 16;
     private long lastSaveTime = 0;
-    private long lastUpdateTime = 0;
-    private static final int MAX_BATCH_SIZE = 100;
-    private final List<SeedMemory> pendingSeeds;
 
     public NoiseResultPanel() {
         seedListModel = new DefaultListModel<>();
-        resultQueue = new LinkedBlockingQueue<>(1000);
-        pendingSeeds = new ArrayList<>();
+        resultRing = new SeedRing(RING_CAPACITY);
         
         setLayout(new BorderLayout());
+        seedListModel.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                resultCount = seedListModel.size();
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                resultCount = seedListModel.size();
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                resultCount = seedListModel.size();
+            }
+        });
         seedList = new JList<>(seedListModel);
         seedList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         setBorder(BorderFactory.createTitledBorder("Search Results"));
@@ -207,61 +225,59 @@ public class NoiseResultPanel extends JPanel {
         return seedListModel;
     }
 
+    /**
+     * Single consumer of the result ring. Every {@value #UPDATE_INTERVAL} ms it drains whatever the workers
+     * published and hands it to the EDT as one batch, so the EDT sees at most ten events per second
+     * however fast seeds are found.
+     */
     private void startResultProcessor() {
         Thread processor = new Thread(() -> {
-            while (true) {
-                try {
-                    if (!isProcessing) {
-                        Thread.sleep(100);
-                        continue;
-                    }
-
-                    SeedMemory seed = resultQueue.poll(100, TimeUnit.MILLISECONDS);
-                    if (seed != null) {
-                        pendingSeeds.add(seed);
-                    }
-
-                    long currentTime = System.currentTimeMillis();
-                    boolean shouldUpdate = currentTime - lastUpdateTime >= UPDATE_INTERVAL;
-                    boolean isBatchFull = pendingSeeds.size() >= MAX_BATCH_SIZE;
-                    boolean hasWaitingSeeds = !pendingSeeds.isEmpty() && resultQueue.isEmpty();
-
-                    if (shouldUpdate && (isBatchFull || hasWaitingSeeds)) {
-                        final List<SeedMemory> batchToAdd = new ArrayList<>(pendingSeeds);
-                        SwingUtilities.invokeLater(() -> {
-                            if (seedListModel.size() < getMaxResults()) {
-                                for (SeedMemory mem : batchToAdd) {
-                                    seedListModel.addElement(mem);
-                                }
-
-                                if (currentTime - lastSaveTime > SAVE_INTERVAL) {
-                                    saveMemories();
-                                    lastSaveTime = currentTime;
-                                }
-
-                                if (seedListModel.size() >= getMaxResults()) {
-                                    stopProcessing();
-                                }
-                            }
-                        });
-                        pendingSeeds.clear();
-                        lastUpdateTime = currentTime;
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
+            long[] drained = new long[resultRing.capacity()];
+            while (!Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(UPDATE_INTERVAL));
+                int count = resultRing.drain(drained);
+                if (count == 0) {
+                    continue;
                 }
+                final long[] batch = Arrays.copyOf(drained, count);
+                SwingUtilities.invokeLater(() -> addBatch(batch));
             }
-        });
+        }, "result-processor");
         processor.setDaemon(true);
         processor.start();
     }
 
+    private void addBatch(long[] batch) {
+        int room = getMaxResults() - seedListModel.size();
+        if (room <= 0) {
+            return;
+        }
+        String description = descriptionField.getText().trim();
+        List<SeedMemory> memories = new ArrayList<>(Math.min(room, batch.length));
+        for (int i = 0; i < batch.length && memories.size() < room; i++) {
+            memories.add(new SeedMemory(batch[i], description));
+        }
+        seedListModel.addAll(memories);
+
+        long currentTime = System.currentTimeMillis();
+        if (!isProcessing || currentTime - lastSaveTime > SAVE_INTERVAL) {
+            saveMemories();
+            lastSaveTime = currentTime;
+        }
+
+        Runnable listener = limitListener;
+        if (seedListModel.size() >= getMaxResults() && listener != null) {
+            listener.run();
+        }
+    }
+
     private int getMaxResults() {
         return AppSettings.getMaxSeeds();
     }
 
-    public void startProcessing() {
+    /** @param onLimitReached run on the EDT once the list holds the maximum number of results */
+    public void startProcessing(Runnable onLimitReached) {
+        limitListener = onLimitReached;
         isProcessing = true;
     }
 
@@ -270,16 +286,16 @@ public class NoiseResultPanel extends JPanel {
         saveMemories();
     }
 
+    /** Number of times a search worker had to wait because results arrived faster than the list took them. */
+    public long getBackPressureCount() {
+        return resultRing.getStalls();
+    }
+
+    /** Queues a match from any thread. Never takes a lock; only waits if the ring is full. */
     public void addSeed(long seed) {
-        if (seedListModel.size() >= getMaxResults()) {
+        if (resultCount >= getMaxResults()) {
             return;
         }
-
-        String description = descriptionField.getText().trim();
-        try {
-            resultQueue.offer(new SeedMemory(seed, description), 50, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        resultRing.put(seed);
     }
 }
@@ -1,18 +1,19 @@
 package fragrant.components;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.io.BufferedReader;
 import java.awt.BorderLayout;
 import java.util.Collections;
 import java.awt.CardLayout;
 import java.awt.FlowLayout;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.io.FileReader;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.util.Optional;
 import java.util.List;
 import java.awt.Color;
 import java.awt.Font;
@@ -20,6 +21,7 @@ import java.io.File;
 
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.BorderFactory;
 import javax.swing.JFileChooser;
 import javax.swing.JScrollPane;
@@ -34,29 +36,45 @@ import javax.swing.JPanel;
 import javax.swing.JLabel;
 import javax.swing.Box;
 
+import fragrant.memory.SearchCheckpointStorage;
 import fragrant.memory.SearchConditionStorage;
 import fragrant.search.HeightSearchCondition;
 import fragrant.search.BiomeSearchCondition;
 import fragrant.search.NoiseSearchCondition;
+import fragrant.search.SeedRangeScheduler;
+import fragrant.search.SearchEngine;
+import fragrant.search.ConditionOrder;
+import fragrant.search.ConditionPlan;
+import fragrant.search.SeedSource;
+import fragrant.search.SeedFiles;
+import fragrant.search.SeedMode;
 import fragrant.settings.AppSettings;
 import fragrant.MainUI;
 
 import nl.jellejurre.seedchecker.SeedCheckerDimension;
 import nl.jellejurre.biomesampler.minecraft.Biome;
-import nl.kallestruik.noisesampler.NoiseSampler;
-import nl.jellejurre.biomesampler.BiomeSampler;
-import nl.jellejurre.seedchecker.SeedChecker;
 import nl.kallestruik.noisesampler.NoiseType;
 
 public class SearchPanel extends JPanel {
     private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final long CHECKPOINT_INTERVAL_SECONDS = 30;
 
     private final List<NoiseSearchCondition> noiseConditions;
     private final List<HeightSearchCondition> heightConditions = new ArrayList<>();
     private final List<BiomeSearchCondition> biomeConditions = new ArrayList<>();
 
-    private volatile long lastProcessedSeed = 0;
-    private final List<Long> seedsFromFile = new ArrayList<>();
+    private volatile SearchEngine engine;
+    private boolean counterSearch;
+    private volatile SearchConditionStorage.SearchConfig checkpointConfig;
+    private volatile long checkpointBaseSeeds;
+    private ScheduledFuture<?> checkpointTask;
+    private final ScheduledExecutorService checkpointExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SeedSource seedFile;
+    private int seedFileGeneration;
 
     private final MainUI mainWindow;
     private JTextField startSeedField;
@@ -65,21 +83,20 @@ public class SearchPanel extends JPanel {
     private JButton browseSeedFileButton;
     private final JButton startSearchButton;
     private final JButton stopSearchButton;
+    private final JButton resumeSearchButton;
     private JSpinner threadCountSpinner;
+    private JComboBox<ConditionOrder> conditionOrderCombo;
     private JComboBox<String> seedRangeCombo;
     private JPanel conditionsPanel;
     private JPanel contentPanel;
     private CardLayout contentCardLayout;
 
-    private ExecutorService executorService;
-    private final List<Future<?>> searchTasks;
     private volatile boolean isSearching = false;
     private volatile boolean maxSeedsMessageShown = false;
 
     public SearchPanel(MainUI mainWindow) {
         this.mainWindow = mainWindow;
         this.noiseConditions = new ArrayList<>();
-        this.searchTasks = new ArrayList<>();
 
         JComboBox<SeedCheckerDimension> dimensionComboBox = new JComboBox<>(SeedCheckerDimension.values());
         dimensionComboBox.setSelectedItem(SeedCheckerDimension.OVERWORLD);
@@ -88,6 +105,7 @@ public class SearchPanel extends JPanel {
 
         startSearchButton = new JButton("Start Search");
         stopSearchButton = new JButton("Stop Search");
+        resumeSearchButton = new JButton("Resume Last Search");
         stopSearchButton.setEnabled(false);
 
         add(createRibbonPanel(), BorderLayout.NORTH);
@@ -98,78 +116,108 @@ public class SearchPanel extends JPanel {
         browseSeedFileButton.setEnabled(false);
         fixedBitsField.setEnabled(false);
 
-        SearchConditionStorage.loadDefaultConditions(this).ifPresent(config -> {
-            startSeedField.setText(String.valueOf(config.startSeed));
+        SearchConditionStorage.loadDefaultConditions(this).ifPresent(this::applyConfig);
+    }
 
-            if (config.searchMode != null) {
-                seedRangeCombo.setSelectedItem(config.searchMode);
-            }
+    private void applyConfig(SearchConditionStorage.SearchConfig config) {
+        applyConfig(config, null);
+    }
 
-            if (config.fixedBits != null) {
-                fixedBitsField.setText(config.fixedBits);
-            }
-            if (config.seedFilePath != null) {
-                seedFileField.setText(config.seedFilePath);
-                File seedFile = new File(config.seedFilePath);
-                if (seedFile.exists()) {
-                    loadSeedsFromFile(seedFile);
-                }
+    /** @param afterSeedFile run once the config's seed file has been opened, or right away if there is none */
+    private void applyConfig(SearchConditionStorage.SearchConfig config, Runnable afterSeedFile) {
+        noiseConditions.clear();
+        heightConditions.clear();
+        biomeConditions.clear();
+        conditionsPanel.removeAll();
+
+        startSeedField.setText(String.valueOf(config.startSeed));
+
+        if (config.searchMode != null) {
+            seedRangeCombo.setSelectedItem(config.searchMode);
+        }
+
+        if (config.fixedBits != null) {
+            fixedBitsField.setText(config.fixedBits);
+        }
+        boolean loadingSeedFile = false;
+        boolean missingSeedFile = false;
+        if (config.seedFilePath != null) {
+            seedFileField.setText(config.seedFilePath);
+            File file = new File(config.seedFilePath);
+            if (file.exists()) {
+                loadSeedsFromFile(file, afterSeedFile);
+                loadingSeedFile = true;
+            } else {
+                // Forget any file loaded earlier, and any load still running, so it is never searched by mistake.
+                seedFileGeneration++;
+                seedFile = null;
+                missingSeedFile = SeedMode.fromLabel(config.searchMode) == SeedMode.FILE;
             }
+        }
+
+        if (config.threadCount > 0) {
+            threadCountSpinner.setValue(config.threadCount);
+        }
+
+        if (config.conditionOrder != null) {
+            conditionOrderCombo.setSelectedItem(ConditionOrder.fromLabel(config.conditionOrder));
+        }
 
-            if (config.threadCount > 0) {
-                threadCountSpinner.setValue(config.threadCount);
+        for (SearchConditionStorage.NoiseConditionData noiseConditionData : config.noiseConditionData) {
+            NoiseSearchCondition condition = new NoiseSearchCondition(this);
+            condition.setValues(
+                    noiseConditionData.getDimension(),
+                    NoiseType.valueOf(noiseConditionData.noiseType),
+                    noiseConditionData.minX, noiseConditionData.maxX,
+                    noiseConditionData.minY, noiseConditionData.maxY,
+                    noiseConditionData.minZ, noiseConditionData.maxZ,
+                    noiseConditionData.threshold,
+                    noiseConditionData.thresholdConditionIndex,
+                    noiseConditionData.conditionTypeIndex);
+            noiseConditions.add(condition);
+            conditionsPanel.add(condition);
+        }
+        
+        if (config.heightConditions != null) {
+            for (SearchConditionStorage.HeightConditionData heightData : config.heightConditions) {
+                HeightSearchCondition condition = new HeightSearchCondition(this);
+                condition.getMinXSpinner().setValue(heightData.minX);
+                condition.getMaxXSpinner().setValue(heightData.maxX);
+                condition.getMinZSpinner().setValue(heightData.minZ);
+                condition.getMaxZSpinner().setValue(heightData.maxZ);
+                condition.getMinHeightSpinner().setValue(heightData.minHeight);
+                condition.getMaxHeightSpinner().setValue(heightData.maxHeight);
+                heightConditions.add(condition);
+                conditionsPanel.add(condition);
             }
+        }
 
-            for (SearchConditionStorage.NoiseConditionData noiseConditionData : config.noiseConditionData) {
-                NoiseSearchCondition condition = new NoiseSearchCondition(this);
+        if (config.biomeConditions != null) {
+            for (SearchConditionStorage.BiomeConditionData biomeData : config.biomeConditions) {
+                BiomeSearchCondition condition = new BiomeSearchCondition(this);
                 condition.setValues(
-                        NoiseType.valueOf(noiseConditionData.noiseType),
-                        noiseConditionData.minX, noiseConditionData.maxX,
-                        noiseConditionData.minY, noiseConditionData.maxY,
-                        noiseConditionData.minZ, noiseConditionData.maxZ,
-                        noiseConditionData.threshold,
-                        noiseConditionData.thresholdConditionIndex,
-                        noiseConditionData.conditionTypeIndex);
-                noiseConditions.add(condition);
+                    Biome.valueOf(biomeData.biome),
+                    biomeData.minX, biomeData.maxX,
+                    biomeData.minZ, biomeData.maxZ,
+                    biomeData.conditionTypeIndex
+                );
+                biomeConditions.add(condition);
                 conditionsPanel.add(condition);
             }
-            
-            if (config.heightConditions != null) {
-                for (SearchConditionStorage.HeightConditionData heightData : config.heightConditions) {
-                    HeightSearchCondition condition = new HeightSearchCondition(this);
-                    condition.getMinXSpinner().setValue(heightData.minX);
-                    condition.getMaxXSpinner().setValue(heightData.maxX);
-                    condition.getMinZSpinner().setValue(heightData.minZ);
-                    condition.getMaxZSpinner().setValue(heightData.maxZ);
-                    condition.getMinHeightSpinner().setValue(heightData.minHeight);
-                    condition.getMaxHeightSpinner().setValue(heightData.maxHeight);
-                    heightConditions.add(condition);
-                    conditionsPanel.add(condition);
-                }
-            }
+        }
 
-            if (config.biomeConditions != null) {
-                for (SearchConditionStorage.BiomeConditionData biomeData : config.biomeConditions) {
-                    BiomeSearchCondition condition = new BiomeSearchCondition(this);
-                    condition.setValues(
-                        Biome.valueOf(biomeData.biome),
-                        biomeData.minX, biomeData.maxX,
-                        biomeData.minZ, biomeData.maxZ,
-                        biomeData.conditionTypeIndex
-                    );
-                    biomeConditions.add(condition);
-                    conditionsPanel.add(condition);
-                }
-            }
-        
-            updateConditionsPanelSize();
-            conditionsPanel.revalidate();
-            conditionsPanel.repaint();        
+        updateConditionsPanelSize();
+        conditionsPanel.revalidate();
+        conditionsPanel.repaint();
 
-            updateConditionsPanelSize();
-            conditionsPanel.revalidate();
-            conditionsPanel.repaint();
-        });
+        if (missingSeedFile) {
+            JOptionPane.showMessageDialog(this,
+                    "The seed file " + config.seedFilePath + " no longer exists.",
+                    "Seed File Missing",
+                    JOptionPane.ERROR_MESSAGE);
+        } else if (!loadingSeedFile && afterSeedFile != null) {
+            afterSeedFile.run();
+        }
     }
 
     private JPanel createRibbonPanel() {
@@ -292,6 +340,12 @@ public class SearchPanel extends JPanel {
         threadPanel.add(new JLabel("Threads:"));
         threadPanel.add(threadCountSpinner);
 
+        JPanel orderPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        conditionOrderCombo = new JComboBox<>(ConditionOrder.values());
+        conditionOrderCombo.setToolTipText("Adaptive runs cheap, selective conditions first based on measured cost");
+        orderPanel.add(new JLabel("Condition Order:"));
+        orderPanel.add(conditionOrderCombo);
+
         JPanel storagePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         JButton saveButton = new JButton("Save Settings");
         JButton loadButton = new JButton("Load Settings");
@@ -304,6 +358,7 @@ public class SearchPanel extends JPanel {
 
         panel.add(startSeedPanel);
         panel.add(threadPanel);
+        panel.add(orderPanel);
         panel.add(storagePanel);
 
         return panel;
@@ -336,6 +391,7 @@ public class SearchPanel extends JPanel {
         addHeightConditionButton.addActionListener(e -> addHeightCondition());
         addBiomeConditionButton.addActionListener(e -> addBiomeCondition());
         startSearchButton.addActionListener(e -> startSearch());
+        resumeSearchButton.addActionListener(e -> resumeLastSearch());
         stopSearchButton.addActionListener(e -> stopSearch());
         clearResultsButton.addActionListener(e -> mainWindow.getResultPanel().clearResults());
 
@@ -347,6 +403,8 @@ public class SearchPanel extends JPanel {
         panel.add(Box.createHorizontalStrut(20));
         panel.add(startSearchButton);
         panel.add(Box.createHorizontalStrut(5));
+        panel.add(resumeSearchButton);
+        panel.add(Box.createHorizontalStrut(5));
         panel.add(stopSearchButton);
         panel.add(Box.createHorizontalStrut(5));
         panel.add(clearResultsButton);
@@ -384,6 +442,7 @@ public class SearchPanel extends JPanel {
             for (SearchConditionStorage.NoiseConditionData noiseConditionData : config.noiseConditionData) {
                 NoiseSearchCondition condition = new NoiseSearchCondition(this);
                 condition.setValues(
+                        noiseConditionData.getDimension(),
                         NoiseType.valueOf(noiseConditionData.noiseType),
                         noiseConditionData.minX, noiseConditionData.maxX,
                         noiseConditionData.minY, noiseConditionData.maxY,
@@ -430,30 +489,75 @@ public class SearchPanel extends JPanel {
     }
 
     private void loadSeedsFromFile(File file) {
-        seedsFromFile.clear();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
+        loadSeedsFromFile(file, null);
+    }
+
+    /** Opens the seed file off the EDT; large files are memory-mapped and indexed rather than read into the heap. */
+    private void loadSeedsFromFile(File file, Runnable onLoaded) {
+        final int generation = ++seedFileGeneration;
+        seedFile = null;
+        new SwingWorker<SeedSource, Void>() {
+            @Override
+            protected SeedSource doInBackground() throws IOException {
+                return SeedFiles.open(file.toPath());
+            }
+
+            @Override
+            protected void done() {
+                if (generation != seedFileGeneration) {
+                    return;
+                }
                 try {
-                    long seed = Long.parseLong(line.trim());
-                    seedsFromFile.add(seed);
-                } catch (NumberFormatException ignored) {
+                    seedFile = get();
+                    JOptionPane.showMessageDialog(SearchPanel.this,
+                            String.format("Loaded %,d seeds from file", seedFile.size()),
+                            "Load Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    if (onLoaded != null) {
+                        onLoaded.run();
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(SearchPanel.this,
+                            "Failed to load seeds from file: " + cause.getMessage(),
+                            "Load Error",
+                            JOptionPane.ERROR_MESSAGE);
                 }
             }
+        }.execute();
+    }
+
+    private void startSearch() {
+        startSearch(null);
+    }
+
+    private void resumeLastSearch() {
+        Optional<SearchCheckpointStorage.SearchCheckpoint> saved = SearchCheckpointStorage.loadCheckpoint();
+        if (saved.isEmpty()) {
             JOptionPane.showMessageDialog(this,
-                    String.format("Loaded %d seeds from file", seedsFromFile.size()),
-                    "Load Complete",
+                    "There is no unfinished search to resume.",
+                    "Nothing to Resume",
                     JOptionPane.INFORMATION_MESSAGE);
-        } catch (IOException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Failed to load seeds from file: " + e.getMessage(),
-                    "Load Error",
-                    JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        SearchCheckpointStorage.SearchCheckpoint checkpoint = saved.get();
+        int choice = JOptionPane.showConfirmDialog(this,
+                String.format("Resume the search saved at %s?%n%,d seeds checked, %s remaining.",
+                        checkpoint.savedAt, checkpoint.completedSeeds,
+                        checkpoint.seedCount == Long.MAX_VALUE ? "unbounded"
+                                : String.format("%,d", checkpoint.getPendingSeeds())),
+                "Resume Last Search",
+                JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        applyConfig(checkpoint.config, () -> startSearch(checkpoint));
     }
 
-    private void startSearch() {
-        mainWindow.getResultPanel().startProcessing();
+    private void startSearch(SearchCheckpointStorage.SearchCheckpoint resumeFrom) {
+        mainWindow.getResultPanel().startProcessing(this::checkAndStopSearchIfNeeded);
         maxSeedsMessageShown = false;
 
         if (noiseConditions.isEmpty() && heightConditions.isEmpty() && biomeConditions.isEmpty()) {
@@ -465,9 +569,9 @@ public class SearchPanel extends JPanel {
         }
 
         try {
-            final int searchMode = seedRangeCombo.getSelectedIndex();
+            final SeedMode searchMode = SeedMode.fromIndex(seedRangeCombo.getSelectedIndex());
 
-            if (searchMode == 3 && seedsFromFile.isEmpty()) {
+            if (searchMode == SeedMode.FILE && (seedFile == null || seedFile.size() == 0)) {
                 JOptionPane.showMessageDialog(this,
                         "Please load a seed file first.",
                         "No Seeds Loaded",
@@ -488,7 +592,7 @@ public class SearchPanel extends JPanel {
 
             String fixedBitsText = fixedBitsField.getText();
             final long fixedBits;
-            if (searchMode != 0) {
+            if (searchMode != SeedMode.FULL_RANGE) {
                 if (fixedBitsText.isEmpty() || !fixedBitsText.matches("-?\\d+")) {
                     JOptionPane.showMessageDialog(this,
                             "Please enter a valid number for the fixed bits.",
@@ -501,91 +605,59 @@ public class SearchPanel extends JPanel {
                 fixedBits = 0;
             }
 
-            final long mask;
-            final long fixedBitsMask;
-            final long stepSize;
-
-            switch (searchMode) {
-                case 1:
-                    mask = 0xFFFFFFFF00000000L;
-                    fixedBitsMask = 0x00000000FFFFFFFFL;
-                    stepSize = 1L << 32;
-                    break;
-                case 2:
-                    mask = 0xFFFF000000000000L;
-                    fixedBitsMask = 0x0000FFFFFFFFFFFFL;
-                    stepSize = 1L << 48;
-                    break;
-                default:
-                    mask = 0xFFFFFFFFFFFFFFFFL;
-                    fixedBitsMask = 0L;
-                    stepSize = 1;
+            final ConditionPlan plan = compilePlan();
+            final SeedSource source;
+            if (searchMode == SeedMode.FILE) {
+                source = seedFile;
+            } else {
+                source = searchMode.counter(startSeed, fixedBits, plan.hasStructureChecks());
+            }
+
+            if (resumeFrom != null && resumeFrom.seedCount != source.size()) {
+                JOptionPane.showMessageDialog(this,
+                        "The saved search no longer matches its seed source (was the seed file changed?).",
+                        "Resume Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            counterSearch = searchMode != SeedMode.FILE;
 
             isSearching = true;
             startSearchButton.setEnabled(false);
+            resumeSearchButton.setEnabled(false);
             stopSearchButton.setEnabled(true);
             threadCountSpinner.setEnabled(false);
-            mainWindow.startSearch();
+            conditionOrderCombo.setEnabled(false);
 
+            ConditionOrder order = (ConditionOrder) conditionOrderCombo.getSelectedItem();
             int threadCount = (Integer) threadCountSpinner.getValue();
-            executorService = Executors.newFixedThreadPool(threadCount);
-            searchTasks.clear();
-
-            if (searchMode == 3) {
-                int seedsPerThread = seedsFromFile.size() / threadCount;
-                int remainingSeeds = seedsFromFile.size() % threadCount;
-
-                for (int i = 0; i < threadCount; i++) {
-                    final int startIndex = i * seedsPerThread + Math.min(i, remainingSeeds);
-                    final int endIndex = (i + 1) * seedsPerThread + Math.min(i + 1, remainingSeeds);
-
-                    Future<?> task = executorService.submit(() -> {
-                        for (int j = startIndex; j < endIndex && !Thread.currentThread().isInterrupted()
-                                && isSearching; j++) {
-                            long seed = seedsFromFile.get(j);
-                            if (checkSeed(seed)) {
-                                SwingUtilities.invokeLater(() -> {
-                                    mainWindow.getResultPanel().addSeed(seed);
-                                    checkAndStopSearchIfNeeded();
-                                });
-                            }
-                            lastProcessedSeed = seed;
-                            mainWindow.incrementProcessedSeeds();
-                        }
-                    });
-                    searchTasks.add(task);
+            List<long[]> pendingRanges = resumeFrom == null ? null : resumeFrom.pendingRanges;
+            engine = new SearchEngine(plan, order, source, threadCount, pendingRanges, new SearchEngine.Listener() {
+                @Override
+                public void onMatch(long seed) {
+                    mainWindow.getResultPanel().addSeed(seed);
                 }
-            } else {
-                for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
-                    final int currentThreadIndex = threadIndex;
-                    Future<?> task = executorService.submit(() -> {
-                        long initialSeed = (startSeed + currentThreadIndex * stepSize) & mask;
-                        if (searchMode != 0) {
-                            initialSeed |= (fixedBits & fixedBitsMask);
-                        }
-
-                        long seed = initialSeed;
-
-                        while (!Thread.currentThread().isInterrupted() && isSearching) {
-                            if (checkSeed(seed)) {
-                                final long foundSeed = seed;
-                                SwingUtilities.invokeLater(() -> {
-                                    mainWindow.getResultPanel().addSeed(foundSeed);
-                                    checkAndStopSearchIfNeeded();
-                                });
-                            }
-                            lastProcessedSeed = seed;
-
-                            seed = ((seed + (threadCount * stepSize)) & mask) |
-                                    (fixedBits & fixedBitsMask);
-
-                            mainWindow.incrementProcessedSeeds();
-                        }
-                    });
-                    searchTasks.add(task);
+
+                @Override
+                public void onFinished(SearchEngine finished) {
+                    SwingUtilities.invokeLater(() -> finishSearch(finished));
                 }
-            }
+
+                @Override
+                public void onFailed(SearchEngine failed, Throwable error) {
+                    SwingUtilities.invokeLater(() -> failSearch(failed, error));
+                }
+            });
+            mainWindow.startSearch(engine.getTelemetry());
+
+            checkpointConfig = SearchConditionStorage.createSearchConfig(
+                    this, noiseConditions, heightConditions, biomeConditions, startSeed);
+            checkpointBaseSeeds = resumeFrom == null ? 0 : resumeFrom.completedSeeds;
+            saveCheckpoint();
+            checkpointTask = checkpointExecutor.scheduleWithFixedDelay(
+                    this::saveCheckpoint, CHECKPOINT_INTERVAL_SECONDS, CHECKPOINT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            engine.start();
 
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this,
@@ -595,8 +667,8 @@ public class SearchPanel extends JPanel {
         }
     }
 
-    private synchronized void checkAndStopSearchIfNeeded() {
-        if (!maxSeedsMessageShown && mainWindow.getResultPanel().getSeedListModel().size() >= AppSettings.getMaxSeeds()) {
+    private void checkAndStopSearchIfNeeded() {
+        if (isSearching && !maxSeedsMessageShown && mainWindow.getResultPanel().getSeedListModel().size() >= AppSettings.getMaxSeeds()) {
             maxSeedsMessageShown = true;
             SwingUtilities.invokeLater(() -> {
                 stopSearch();
@@ -608,20 +680,73 @@ public class SearchPanel extends JPanel {
         }
     }
 
+    private void finishSearch(SearchEngine finished) {
+        if (!isSearching || engine != finished) {
+            return;
+        }
+        stopSearch();
+        discardCheckpoint();
+        JOptionPane.showMessageDialog(this,
+                String.format("Search finished: all %,d seeds checked", finished.getScheduler().getCompletedCount()),
+                "Search Complete",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void failSearch(SearchEngine failed, Throwable error) {
+        if (!isSearching || engine != failed) {
+            return;
+        }
+        error.printStackTrace();
+        stopSearch();
+        JOptionPane.showMessageDialog(this,
+                "Search stopped after an error: " + error + "\nThe search can be resumed from where it stopped.",
+                "Search Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
     private void stopSearch() {
         isSearching = false;
-        if (executorService != null) {
-            executorService.shutdownNow();
-            searchTasks.forEach(task -> task.cancel(true));
+        if (engine != null) {
+            engine.stop();
+        }
+        if (checkpointTask != null) {
+            checkpointTask.cancel(false);
+            checkpointTask = null;
+            saveCheckpoint();
         }
         startSearchButton.setEnabled(true);
+        resumeSearchButton.setEnabled(true);
         stopSearchButton.setEnabled(false);
         threadCountSpinner.setEnabled(true);
+        conditionOrderCombo.setEnabled(true);
         mainWindow.stopSearch();
-        startSeedField.setText(String.valueOf(lastProcessedSeed + 1));
+        if (engine != null && counterSearch) {
+            startSeedField.setText(String.valueOf(engine.getSource().seedAt(engine.getScheduler().getWatermark())));
+        }
         mainWindow.getResultPanel().stopProcessing();
     }
 
+    private synchronized void saveCheckpoint() {
+        SearchEngine current = engine;
+        SearchConditionStorage.SearchConfig config = checkpointConfig;
+        if (current == null || config == null) {
+            return;
+        }
+        SeedRangeScheduler scheduler = current.getScheduler();
+        try {
+            SearchCheckpointStorage.saveCheckpoint(SearchCheckpointStorage.createCheckpoint(
+                    config, scheduler.getLimit(), checkpointBaseSeeds + scheduler.getCompletedCount(),
+                    scheduler.getPendingRanges()));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void discardCheckpoint() {
+        checkpointConfig = null;
+        SearchCheckpointStorage.deleteCheckpoint();
+    }
+
     private void addConditionToPanel(JPanel condition) {
         conditionsPanel.add(condition);
         updateConditionsPanelSize();
@@ -665,26 +790,11 @@ public class SearchPanel extends JPanel {
         conditionsPanel.revalidate();
     }
 
-    private boolean checkSeed(long seed) {
-        if (!noiseConditions.isEmpty()) {
-            NoiseSampler sampler = new NoiseSampler(seed, nl.kallestruik.noisesampler.minecraft.Dimension.OVERWORLD);
-            if (!noiseConditions.stream().allMatch(condition -> condition.checkCondition(sampler))) {
-                return false;
-            }
-        }
-    
-        if (!heightConditions.isEmpty()) {
-            SeedChecker checker = new SeedChecker(seed);
-            if (!heightConditions.stream().allMatch(condition -> condition.checkCondition(checker))) {
-                return false;
-            }
-        }
-    
-        if (!biomeConditions.isEmpty()) {
-            BiomeSampler biomeSampler = new BiomeSampler(seed, nl.kallestruik.noisesampler.minecraft.Dimension.OVERWORLD);
-            return biomeConditions.stream().allMatch(condition -> condition.checkCondition(biomeSampler));
-        }
-        return true;
+    private ConditionPlan compilePlan() {
+        return new ConditionPlan(
+                noiseConditions.stream().map(NoiseSearchCondition::toCheck).toList(),
+                heightConditions.stream().map(HeightSearchCondition::toCheck).toList(),
+                biomeConditions.stream().map(BiomeSearchCondition::toCheck).toList());
     }
 
     public void removeNoiseCondition(NoiseSearchCondition condition) {
@@ -789,6 +899,10 @@ public class SearchPanel extends JPanel {
         return threadCountSpinner;
     }
 
+    public JComboBox<ConditionOrder> getConditionOrderCombo() {
+        return conditionOrderCombo;
+    }
+
     public List<NoiseSearchCondition> getSearchConditions() {
         return noiseConditions;
     }
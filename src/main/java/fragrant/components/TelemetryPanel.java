@@ -0,0 +1,125 @@
+package fragrant.components;
+
+import java.awt.BorderLayout;
+import java.awt.GridLayout;
+
+import javax.swing.table.DefaultTableModel;
+import javax.swing.BorderFactory;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JPanel;
+import javax.swing.JLabel;
+
+import fragrant.search.SearchTelemetry;
+import fragrant.search.SamplerKind;
+
+public class TelemetryPanel extends JPanel {
+    private static final int WINDOW_SECONDS = 10;
+    private static final String[] STAGE_NAMES = {"Noise", "Biome", "Height"};
+    private static final String[] COLUMNS = {
+            "Stage", "Evaluated", "Passed", "Pass Rate", "Construction (s)", "Per Seed (ms)", "Sampling (s)"
+    };
+
+    private final long[] windowSeeds = new long[WINDOW_SECONDS + 1];
+    private final long[] windowNanos = new long[WINDOW_SECONDS + 1];
+    private int windowCount = 0;
+    private int windowHead = 0;
+
+    private final JLabel speedLabel;
+    private final JLabel totalSeedsLabel;
+    private final JLabel timeSplitLabel;
+    private final JLabel backPressureLabel;
+    private final DefaultTableModel stageModel;
+
+    public TelemetryPanel() {
+        setLayout(new BorderLayout());
+        setBorder(BorderFactory.createTitledBorder("Search Telemetry"));
+
+        JPanel summaryPanel = new JPanel(new GridLayout(4, 1, 0, 4));
+        summaryPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 10, 5));
+        speedLabel = new JLabel();
+        totalSeedsLabel = new JLabel();
+        timeSplitLabel = new JLabel();
+        backPressureLabel = new JLabel();
+        summaryPanel.add(speedLabel);
+        summaryPanel.add(totalSeedsLabel);
+        summaryPanel.add(timeSplitLabel);
+        summaryPanel.add(backPressureLabel);
+
+        stageModel = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (String stage : STAGE_NAMES) {
+            stageModel.addRow(new Object[] {stage, "0", "0", "-", "0.0", "-", "0.0"});
+        }
+        JTable stageTable = new JTable(stageModel);
+        stageTable.getTableHeader().setReorderingAllowed(false);
+
+        add(summaryPanel, BorderLayout.NORTH);
+        add(new JScrollPane(stageTable), BorderLayout.CENTER);
+
+        reset();
+    }
+
+    public void reset() {
+        windowCount = 0;
+        windowHead = 0;
+        speedLabel.setText(String.format("Speed (%d s average): 0.0 seeds/s", WINDOW_SECONDS));
+        totalSeedsLabel.setText("Seeds checked: 0");
+        timeSplitLabel.setText("Sampler construction: 0.0 s, sampling: 0.0 s");
+        backPressureLabel.setText("Result queue full: 0 waits");
+        for (int row = 0; row < STAGE_NAMES.length; row++) {
+            stageModel.setValueAt("0", row, 1);
+            stageModel.setValueAt("0", row, 2);
+            stageModel.setValueAt("-", row, 3);
+            stageModel.setValueAt("0.0", row, 4);
+            stageModel.setValueAt("-", row, 5);
+            stageModel.setValueAt("0.0", row, 6);
+        }
+    }
+
+    /** @param resultWaits times a worker waited because the result queue was full during this search */
+    public void update(SearchTelemetry.Snapshot snapshot, long resultWaits) {
+        long now = System.nanoTime();
+        windowSeeds[windowHead] = snapshot.getSeeds();
+        windowNanos[windowHead] = now;
+        int oldest = windowCount < windowSeeds.length ? 0 : (windowHead + 1) % windowSeeds.length;
+        windowHead = (windowHead + 1) % windowSeeds.length;
+        windowCount = Math.min(windowCount + 1, windowSeeds.length);
+
+        long spanNanos = now - windowNanos[oldest];
+        double speed = spanNanos > 0
+                ? (snapshot.getSeeds() - windowSeeds[oldest]) * 1e9 / spanNanos
+                : 0;
+        speedLabel.setText(String.format("Speed (%d s average): %,.1f seeds/s", WINDOW_SECONDS, speed));
+        totalSeedsLabel.setText(String.format("Seeds checked: %,d", snapshot.getSeeds()));
+
+        long buildNanos = 0;
+        long sampleNanos = 0;
+        for (SamplerKind kind : SamplerKind.values()) {
+            int row = kind.ordinal();
+            long evaluated = snapshot.getEvaluated(kind);
+            long passed = snapshot.getPassed(kind);
+            stageModel.setValueAt(String.format("%,d", evaluated), row, 1);
+            stageModel.setValueAt(String.format("%,d", passed), row, 2);
+            stageModel.setValueAt(evaluated > 0
+                    ? String.format("%.3f%%", 100.0 * passed / evaluated) : "-", row, 3);
+            long builds = snapshot.getBuilds(kind);
+            stageModel.setValueAt(String.format("%,.1f", snapshot.getBuildNanos(kind) / 1e9), row, 4);
+            stageModel.setValueAt(builds > 0
+                    ? String.format("%.3f", snapshot.getBuildNanos(kind) / 1e6 / builds) : "-", row, 5);
+            stageModel.setValueAt(String.format("%,.1f", snapshot.getSampleNanos(kind) / 1e9), row, 6);
+            buildNanos += snapshot.getBuildNanos(kind);
+            sampleNanos += snapshot.getSampleNanos(kind);
+        }
+
+        long totalNanos = buildNanos + sampleNanos;
+        double buildShare = totalNanos > 0 ? 100.0 * buildNanos / totalNanos : 0;
+        timeSplitLabel.setText(String.format("Sampler construction: %,.1f s (%.1f%%), sampling: %,.1f s (%.1f%%)",
+                buildNanos / 1e9, buildShare, sampleNanos / 1e9, totalNanos > 0 ? 100.0 - buildShare : 0));
+        backPressureLabel.setText(String.format("Result queue full: %,d waits", resultWaits));
+    }
+}
@@ -0,0 +1,110 @@
+package fragrant.memory;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Gson;
+
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.List;
+import java.io.*;
+
+/**
+ * Persists the state of a running search so it can be resumed after a stop or a crash.
+ * The file is written to a temporary sibling and moved into place, so a crash mid-write leaves the
+ * previous checkpoint intact.
+ */
+public class SearchCheckpointStorage {
+    private static final String CHECKPOINT_FILE = "search_checkpoint.json";
+    private static final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .serializeNulls()
+            .create();
+
+    public static class SearchCheckpoint {
+        public SearchConditionStorage.SearchConfig config;
+        public long seedCount;
+        public long completedSeeds;
+        public List<long[]> pendingRanges;
+        public String savedAt;
+
+        public long getPendingSeeds() {
+            long pending = 0;
+            for (long[] range : pendingRanges) {
+                pending += range[1] - range[0];
+            }
+            return pending;
+        }
+    }
+
+    public static SearchCheckpoint createCheckpoint(SearchConditionStorage.SearchConfig config, long seedCount,
+                                                    long completedSeeds, List<long[]> pendingRanges) {
+        SearchCheckpoint checkpoint = new SearchCheckpoint();
+        checkpoint.config = config;
+        checkpoint.seedCount = seedCount;
+        checkpoint.completedSeeds = completedSeeds;
+        checkpoint.pendingRanges = pendingRanges;
+        checkpoint.savedAt = LocalDateTime.now().toString();
+        return checkpoint;
+    }
+
+    public static void saveCheckpoint(SearchCheckpoint checkpoint) throws IOException {
+        SeedMemoryStorage.ensureStorageDirectory();
+        saveCheckpoint(checkpoint, getCheckpointPath());
+    }
+
+    public static void saveCheckpoint(SearchCheckpoint checkpoint, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            gson.toJson(checkpoint, writer);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static Optional<SearchCheckpoint> loadCheckpoint() {
+        Path path = getCheckpointPath();
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(loadCheckpoint(path));
+        } catch (IOException | JsonSyntaxException e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    /** Reads a checkpoint from {@code path}, failing instead of returning nothing so callers never overwrite it. */
+    public static SearchCheckpoint loadCheckpoint(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            SearchCheckpoint checkpoint = gson.fromJson(reader, SearchCheckpoint.class);
+            if (checkpoint == null || checkpoint.config == null || checkpoint.pendingRanges == null) {
+                throw new JsonSyntaxException("Failed to parse checkpoint file: empty or invalid content");
+            }
+            SearchConditionStorage.normalize(checkpoint.config);
+            return checkpoint;
+        }
+    }
+
+    public static void deleteCheckpoint() {
+        try {
+            Files.deleteIfExists(getCheckpointPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Path getCheckpointPath() {
+        return Paths.get(System.getProperty("user.home"), ".noise_samplerGUI-1.5.0", CHECKPOINT_FILE);
+    }
+}
@@ -3,6 +3,12 @@ package fragrant.memory;
 import fragrant.search.HeightSearchCondition;
 import fragrant.search.NoiseSearchCondition;
 import fragrant.search.BiomeSearchCondition;
+import fragrant.search.ThresholdMode;
+import fragrant.search.ConditionPlan;
+import fragrant.search.HeightCheck;
+import fragrant.search.NoiseCheck;
+import fragrant.search.BiomeCheck;
+import fragrant.search.MatchMode;
 import fragrant.components.SearchPanel;
 
 import java.nio.file.Files;
@@ -17,6 +23,10 @@ import java.io.*;
 
 import com.google.gson.*;
 
+import nl.jellejurre.biomesampler.minecraft.Biome;
+import nl.kallestruik.noisesampler.NoiseType;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
 public class SearchConditionStorage {
     private static final String FILE_EXTENSION = ".json";
     private static final String DEFAULT_CONFIG_FILE = ".noise_sampler_default_config.json";
@@ -26,6 +36,7 @@ public class SearchConditionStorage {
             .create();
 
     public static class NoiseConditionData {
+        public String dimension;
         public String noiseType;
         public int minX;
         public int maxX;
@@ -39,6 +50,7 @@ public class SearchConditionStorage {
 
         public static NoiseConditionData fromCondition(NoiseSearchCondition condition) {
             NoiseConditionData data = new NoiseConditionData();
+            data.dimension = condition.getDimension().name();
             data.noiseType = condition.getNoiseType().name();
             data.minX = condition.getMinX();
             data.maxX = condition.getMaxX();
@@ -51,6 +63,21 @@ public class SearchConditionStorage {
             data.conditionTypeIndex = condition.getConditionTypeIndex();
             return data;
         }
+
+        public NoiseCheck toCheck() {
+            return new NoiseCheck(
+                    getDimension(),
+                    NoiseType.valueOf(noiseType),
+                    minX, maxX, minY, maxY, minZ, maxZ,
+                    threshold,
+                    ThresholdMode.fromIndex(thresholdConditionIndex),
+                    MatchMode.fromIndex(conditionTypeIndex));
+        }
+
+        /** Conditions saved before noise conditions had a dimension were all sampled in the Overworld. */
+        public Dimension getDimension() {
+            return dimension == null ? Dimension.OVERWORLD : Dimension.valueOf(dimension);
+        }
     }
 
     public static class HeightConditionData {
@@ -73,6 +100,10 @@ public class SearchConditionStorage {
             data.maxHeight = (Integer) condition.getMaxHeightSpinner().getValue();
             return data;
         }
+
+        public HeightCheck toCheck() {
+            return new HeightCheck(minX, maxX, minZ, maxZ, minHeight, maxHeight);
+        }
     }    
 
     public static class BiomeConditionData {
@@ -95,6 +126,13 @@ public class SearchConditionStorage {
             data.conditionTypeIndex = condition.getConditionTypeIndex();
             return data;
         }
+
+        public BiomeCheck toCheck() {
+            return new BiomeCheck(
+                    Biome.valueOf(biome),
+                    minX, maxX, minZ, maxZ,
+                    MatchMode.fromIndex(conditionTypeIndex));
+        }
     }
 
     public static class SearchConfig {
@@ -103,6 +141,7 @@ public class SearchConditionStorage {
         public String fixedBits;
         public String seedFilePath;
         public int threadCount;
+        public String conditionOrder;
         public List<NoiseConditionData> noiseConditionData;
         public List<HeightConditionData> heightConditions;
         public List<BiomeConditionData> biomeConditions;
@@ -112,6 +151,17 @@ public class SearchConditionStorage {
             heightConditions = new ArrayList<>();
             biomeConditions = new ArrayList<>();
         }
+
+        /** Builds the worker-side plan without touching any Swing component. */
+        public ConditionPlan toPlan() {
+            return new ConditionPlan(
+                    noiseConditionData == null ? List.of()
+                            : noiseConditionData.stream().map(NoiseConditionData::toCheck).toList(),
+                    heightConditions == null ? List.of()
+                            : heightConditions.stream().map(HeightConditionData::toCheck).toList(),
+                    biomeConditions == null ? List.of()
+                            : biomeConditions.stream().map(BiomeConditionData::toCheck).toList());
+        }
     }
 
     public static void saveConditions(Component parent, SearchPanel panel,
@@ -148,7 +198,7 @@ public class SearchConditionStorage {
         }
     }
 
-    private static SearchConfig createSearchConfig(SearchPanel panel,
+    public static SearchConfig createSearchConfig(SearchPanel panel,
                                                  List<NoiseSearchCondition> noiseConditionData,
                                                  List<HeightSearchCondition> heightConditions,
                                                  List<BiomeSearchCondition> biomeConditions,
@@ -171,10 +221,23 @@ public class SearchConditionStorage {
         config.fixedBits = panel.getFixedBitsField().getText();
         config.seedFilePath = panel.getSeedFileField().getText();
         config.threadCount = (Integer) panel.getThreadCountSpinner().getValue();
+        config.conditionOrder = panel.getConditionOrderCombo().getSelectedItem().toString();
 
         return config;
     }
 
+    static void normalize(SearchConfig config) {
+        if (config.noiseConditionData == null) {
+            config.noiseConditionData = new ArrayList<>();
+        }
+        if (config.heightConditions == null) {
+            config.heightConditions = new ArrayList<>();
+        }
+        if (config.biomeConditions == null) {
+            config.biomeConditions = new ArrayList<>();
+        }
+    }
+
     public static Optional<SearchConfig> loadConditions(Component parent) {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
@@ -196,15 +259,7 @@ public class SearchConditionStorage {
                     throw new JsonSyntaxException("Failed to parse config file: empty or invalid content");
                 }
 
-                if (config.noiseConditionData == null) {
-                    config.noiseConditionData = new ArrayList<>();
-                }
-                if (config.heightConditions == null) {
-                    config.heightConditions = new ArrayList<>();
-                }
-                if (config.biomeConditions == null) {
-                    config.biomeConditions = new ArrayList<>();
-                }
+                normalize(config);
 
                 return Optional.of(config);
             } catch (IOException | JsonSyntaxException e) {
@@ -277,15 +332,7 @@ public class SearchConditionStorage {
                 if (config == null) {
                     throw new JsonSyntaxException("Failed to parse config file: empty or invalid content");
                 }
-                if (config.noiseConditionData == null) {
-                    config.noiseConditionData = new ArrayList<>();
-                }
-                if (config.heightConditions == null) {
-                    config.heightConditions = new ArrayList<>();
-                }
-                if (config.biomeConditions == null) {
-                    config.biomeConditions = new ArrayList<>();
-                }
+                normalize(config);
 
                 System.out.println("Loaded configuration with " +
                         config.noiseConditionData.size() + " noise conditions & " +
@@ -0,0 +1,40 @@
+package fragrant.search;
+
+import nl.jellejurre.biomesampler.minecraft.Biome;
+import nl.jellejurre.biomesampler.BiomeSampler;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+public record BiomeCheck(Biome biome, int minX, int maxX, int minZ, int maxZ, MatchMode matchMode) implements ConditionCheck {
+
+    @Override
+    public boolean test(SeedContext context) {
+        BiomeSampler sampler = context.biomeSampler(dimension());
+        return matchMode == MatchMode.ALL
+                ? sampler.containsOnlyBiome(biome, minX, minZ, maxX, maxZ, 0)
+                : sampler.containsBiome(biome, minX, minZ, maxX, maxZ, 0);
+    }
+
+    @Override
+    public SamplerKind samplerKind() {
+        return SamplerKind.BIOME;
+    }
+
+    /** Every biome only generates in one dimension, so that is where the check samples. */
+    @Override
+    public Dimension dimension() {
+        return switch (biome.getCategory()) {
+            case NETHER -> Dimension.NETHER;
+            case THEEND -> Dimension.THEEND;
+            default -> Dimension.OVERWORLD;
+        };
+    }
+
+    /**
+     * End biomes only come from the island noise, and Nether biomes from climate noises that are all structure seed
+     * only, see {@link NoiseCheck#dependsOnStructureSeedOnly}.
+     */
+    @Override
+    public boolean structureSeedOnly() {
+        return dimension() != Dimension.OVERWORLD;
+    }
+}
@@ -18,7 +18,6 @@ import javax.swing.JPanel;
 import fragrant.components.SearchPanel;
 
 import nl.jellejurre.biomesampler.minecraft.Biome;
-import nl.jellejurre.biomesampler.BiomeSampler;
 
 public class BiomeSearchCondition extends JPanel {
     private final JComboBox<Biome> biomeCombo;
@@ -77,34 +76,12 @@ public class BiomeSearchCondition extends JPanel {
         panel.add(component, gbc);
     }
 
-    public boolean checkCondition(BiomeSampler sampler) {
-        Biome targetBiome = (Biome) biomeCombo.getSelectedItem();
-        boolean requireAll = conditionTypeCombo.getSelectedIndex() == 0;
-
-        int minX = (Integer) minXSpinner.getValue();
-        int maxX = (Integer) maxXSpinner.getValue();
-        int minZ = (Integer) minZSpinner.getValue();
-        int maxZ = (Integer) maxZSpinner.getValue();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                Biome biome = sampler.getBiomeFromBlockPos(x, 0, z);
-                boolean matches = biome == targetBiome;
-
-                if (requireAll) {
-                    if (!matches) {
-                        return false;
-                    }
-                } else {
-                    if (matches) {
-                        return true;
-                    }
-                }
-            }
-
-        }
-
-        return requireAll;
+    public BiomeCheck toCheck() {
+        return new BiomeCheck(
+                getBiome(),
+                getMinX(), getMaxX(),
+                getMinZ(), getMaxZ(),
+                MatchMode.fromIndex(getConditionTypeIndex()));
     }
 
     public void setValues(Biome biome, int minX, int maxX, int minZ, int maxZ, int conditionTypeIndex) {
@@ -0,0 +1,24 @@
+package fragrant.search;
+
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+/**
+ * Immutable snapshot of a single search condition, evaluated by the search workers.
+ * Implementations only hold primitives and enums so they never touch Swing state.
+ */
+public interface ConditionCheck {
+    boolean test(SeedContext context);
+
+    SamplerKind samplerKind();
+
+    /** The dimension whose sampler the check uses. */
+    Dimension dimension();
+
+    /**
+     * Whether the result only depends on the lower 48 bits of the seed (the structure seed), so it is the same
+     * for all 65536 world seeds that share them. Only return true when that holds for every input.
+     */
+    default boolean structureSeedOnly() {
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package fragrant.search;
+
+public enum ConditionOrder {
+    ADAPTIVE("Adaptive"),
+    FIXED("Fixed Order");
+
+    private final String label;
+
+    ConditionOrder(String label) {
+        this.label = label;
+    }
+
+    public static ConditionOrder fromLabel(String label) {
+        for (ConditionOrder order : values()) {
+            if (order.label.equals(label)) {
+                return order;
+            }
+        }
+        return ADAPTIVE;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,92 @@
+package fragrant.search;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import nl.kallestruik.noisesampler.NoiseType;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+/**
+ * Immutable, Swing-free list of conditions built once per search on the EDT.
+ * Workers only read it, so editing the condition panels mid-search cannot affect a running search.
+ */
+public final class ConditionPlan {
+    private final ConditionCheck[] checks;
+
+    public ConditionPlan(List<NoiseCheck> noiseChecks, List<HeightCheck> heightChecks, List<BiomeCheck> biomeChecks) {
+        List<ConditionCheck> ordered = new ArrayList<>(noiseChecks.size() + heightChecks.size() + biomeChecks.size());
+        ordered.addAll(noiseChecks);
+        ordered.addAll(heightChecks);
+        ordered.addAll(biomeChecks);
+        this.checks = ordered.toArray(new ConditionCheck[0]);
+    }
+
+    private ConditionPlan(ConditionCheck[] checks) {
+        this.checks = checks;
+    }
+
+    public boolean test(SeedContext context, long seed) {
+        context.begin(seed);
+        try {
+            for (ConditionCheck check : checks) {
+                if (!context.evaluate(check)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            context.end();
+        }
+    }
+
+    public boolean isEmpty() {
+        return checks.length == 0;
+    }
+
+    /** Whether any check only depends on the structure seed, see {@link ConditionCheck#structureSeedOnly()}. */
+    public boolean hasStructureChecks() {
+        for (ConditionCheck check : checks) {
+            if (check.structureSeedOnly()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The checks that only depend on the structure seed, in plan order. */
+    public ConditionPlan structurePlan() {
+        return filter(true);
+    }
+
+    /** The checks that depend on the full 64-bit seed, in plan order. */
+    public ConditionPlan worldPlan() {
+        return filter(false);
+    }
+
+    private ConditionPlan filter(boolean structureSeedOnly) {
+        List<ConditionCheck> kept = new ArrayList<>(checks.length);
+        for (ConditionCheck check : checks) {
+            if (check.structureSeedOnly() == structureSeedOnly) {
+                kept.add(check);
+            }
+        }
+        return new ConditionPlan(kept.toArray(new ConditionCheck[0]));
+    }
+
+    /** The noise types the plan's noise checks sample in {@code dimension}; samplers only need to build those. */
+    public Set<NoiseType> noiseTypes(Dimension dimension) {
+        Set<NoiseType> types = EnumSet.noneOf(NoiseType.class);
+        for (ConditionCheck check : checks) {
+            if (check instanceof NoiseCheck noiseCheck && noiseCheck.dimension() == dimension) {
+                types.add(noiseCheck.noiseType());
+            }
+        }
+        return types;
+    }
+
+    public List<ConditionCheck> getChecks() {
+        return List.of(checks);
+    }
+}
@@ -0,0 +1,210 @@
+package fragrant.search;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+/**
+ * Decides in which order the checks of a {@link ConditionPlan} run.
+ * In adaptive mode a small share of seeds first evaluates one check, taken in rotation, whatever the others
+ * return, which gives unbiased rejection rates and per-check costs without forcing every expensive check on
+ * those seeds; the order is then periodically rebuilt so that cheap, selective checks run first and sampler
+ * construction is only paid once it is likely to matter. Forced checks are skipped while they have taken more
+ * than {@link #MAX_EXPLORE_SHARE} of the time spent testing seeds.
+ * Fixed mode simply runs the plan in its compiled order.
+ */
+public final class ConditionPlanner {
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long WARMUP_REORDER_NANOS = 250_000_000L;
+    private static final long REORDER_NANOS = 2_000_000_000L;
+    private static final int WARMUP_EXPLORE_MASK = 63;
+    private static final int EXPLORE_MASK = 1023;
+    private static final int MIN_SAMPLES = 16;
+    private static final double MAX_EXPLORE_SHARE = 0.05;
+
+    private final ConditionPlan plan;
+    private final ConditionCheck[] checks;
+    private final boolean adaptive;
+    private final long startNanos;
+    private final AtomicLong nextReorderNanos;
+    private final AtomicInteger nextExplored = new AtomicInteger();
+    private final LongAdder seedNanos = new LongAdder();
+    private final LongAdder exploreNanos = new LongAdder();
+
+    private final LongAdder[] evaluations;
+    private final LongAdder[] rejections;
+    private final LongAdder[] evalNanos;
+    /** Per sampler, as numbered by {@link #samplerIndex}: samplers are built once per kind and dimension. */
+    private final LongAdder[] builds;
+    private final LongAdder[] buildNanos;
+
+    private volatile int[] order;
+
+    public ConditionPlanner(ConditionPlan plan, ConditionOrder mode) {
+        List<ConditionCheck> planChecks = plan.getChecks();
+        this.plan = plan;
+        this.checks = planChecks.toArray(new ConditionCheck[0]);
+        this.adaptive = mode == ConditionOrder.ADAPTIVE && checks.length > 1;
+        this.startNanos = System.nanoTime();
+        this.nextReorderNanos = new AtomicLong(startNanos + WARMUP_REORDER_NANOS);
+
+        this.evaluations = newAdders(checks.length);
+        this.rejections = newAdders(checks.length);
+        this.evalNanos = newAdders(checks.length);
+        this.builds = newAdders(SamplerKind.values().length * Dimension.values().length);
+        this.buildNanos = newAdders(SamplerKind.values().length * Dimension.values().length);
+
+        int[] initial = new int[checks.length];
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = i;
+        }
+        this.order = initial;
+    }
+
+    public boolean test(SeedContext context, long seed) {
+        if (!adaptive) {
+            return plan.test(context, seed);
+        }
+
+        context.begin(seed);
+        long now = System.nanoTime();
+        try {
+            boolean warmup = now - startNanos < WARMUP_NANOS;
+            int mask = warmup ? WARMUP_EXPLORE_MASK : EXPLORE_MASK;
+            int explored = -1;
+            if ((context.getTestedSeeds() & mask) == 0
+                    && exploreNanos.sum() <= MAX_EXPLORE_SHARE * seedNanos.sum()) {
+                explored = Math.floorMod(nextExplored.getAndIncrement(), checks.length);
+                boolean passed = explore(context, explored);
+                maybeReorder(warmup);
+                if (!passed) {
+                    return false;
+                }
+            }
+
+            for (int index : order) {
+                if (index != explored && !context.evaluate(checks[index])) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            context.end();
+            seedNanos.add(System.nanoTime() - now);
+        }
+    }
+
+    /** Current evaluation order, as indices into {@link ConditionPlan#getChecks()}. */
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Evaluates check {@code i} ahead of the others and records what it cost and whether it rejected. Nothing has
+     * run before it, so it pays for its own sampler and its result does not depend on the other checks.
+     */
+    private boolean explore(SeedContext context, int i) {
+        ConditionCheck check = checks[i];
+        long buildBefore = context.getBuildNanos(check.samplerKind());
+        long start = System.nanoTime();
+        boolean result = context.evaluate(check);
+        long elapsed = System.nanoTime() - start;
+        long built = context.getBuildNanos(check.samplerKind()) - buildBefore;
+
+        exploreNanos.add(elapsed);
+        if (built > 0) {
+            builds[samplerIndex(check)].increment();
+            buildNanos[samplerIndex(check)].add(built);
+        }
+        evaluations[i].increment();
+        evalNanos[i].add(Math.max(0L, elapsed - built));
+        if (!result) {
+            rejections[i].increment();
+        }
+        return result;
+    }
+
+    private void maybeReorder(boolean warmup) {
+        long now = System.nanoTime();
+        long due = nextReorderNanos.get();
+        if (now < due) {
+            return;
+        }
+        long interval = warmup ? WARMUP_REORDER_NANOS : REORDER_NANOS;
+        if (!nextReorderNanos.compareAndSet(due, now + interval)) {
+            return;
+        }
+        int[] computed = computeOrder();
+        if (computed != null) {
+            order = computed;
+        }
+    }
+
+    /**
+     * Greedy ordering by rejection probability per nanosecond, where a check's cost includes building its
+     * sampler unless an earlier check has already built it. Returns null until every check has enough samples.
+     */
+    private int[] computeOrder() {
+        int count = checks.length;
+        double[] rejectRate = new double[count];
+        double[] evalCost = new double[count];
+        for (int i = 0; i < count; i++) {
+            long evals = evaluations[i].sum();
+            if (evals < MIN_SAMPLES) {
+                return null;
+            }
+            rejectRate[i] = (rejections[i].sum() + 1.0) / (evals + 2.0);
+            evalCost[i] = (double) evalNanos[i].sum() / evals;
+        }
+
+        double[] buildCost = new double[builds.length];
+        for (int sampler = 0; sampler < builds.length; sampler++) {
+            long buildCount = builds[sampler].sum();
+            buildCost[sampler] = buildCount == 0 ? 0.0 : (double) buildNanos[sampler].sum() / buildCount;
+        }
+
+        int[] result = new int[count];
+        boolean[] placed = new boolean[count];
+        boolean[] built = new boolean[builds.length];
+        for (int position = 0; position < count; position++) {
+            int best = -1;
+            double bestScore = -1.0;
+            for (int i = 0; i < count; i++) {
+                if (placed[i]) {
+                    continue;
+                }
+                int sampler = samplerIndex(checks[i]);
+                double cost = evalCost[i] + (built[sampler] ? 0.0 : buildCost[sampler]) + 1.0;
+                double score = rejectRate[i] / cost;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            placed[best] = true;
+            built[samplerIndex(checks[best])] = true;
+            result[position] = best;
+        }
+        return result;
+    }
+
+    /** Numbers the sampler a check uses by its kind and dimension, the way {@link SeedContext} caches them. */
+    private static int samplerIndex(ConditionCheck check) {
+        return check.samplerKind().ordinal() * Dimension.values().length + check.dimension().ordinal();
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
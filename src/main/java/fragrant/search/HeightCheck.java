@@ -0,0 +1,50 @@
+package fragrant.search;
+
+import nl.jellejurre.seedchecker.SeedChecker;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+public record HeightCheck(int minX, int maxX, int minZ, int maxZ, int minHeight, int maxHeight) implements ConditionCheck {
+    public static final int TARGET_LEVEL = 5;
+
+    @Override
+    public boolean test(SeedContext context) {
+        if (minX > maxX || minZ > maxZ) {
+            return false;
+        }
+
+        try {
+            SeedChecker checker = context.seedChecker();
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    int highestY = -64;
+                    for (int y = 256; y >= -64; y--) {
+                        if (!checker.getBlockState(x, y, z).isAir()) {
+                            highestY = y;
+                            break;
+                        }
+                    }
+
+                    if (highestY >= minHeight && highestY <= maxHeight) {
+                        return true;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+
+        return false;
+    }
+
+    @Override
+    public SamplerKind samplerKind() {
+        return SamplerKind.HEIGHT;
+    }
+
+    /** The seed checker only generates the Overworld. */
+    @Override
+    public Dimension dimension() {
+        return Dimension.OVERWORLD;
+    }
+}
@@ -16,13 +16,11 @@ import javax.swing.JPanel;
 
 import fragrant.components.SearchPanel;
 
-import nl.jellejurre.seedchecker.*;
 import org.jetbrains.annotations.NotNull;
 
 public class HeightSearchCondition extends JPanel {
     private final JSpinner minXSpinner, maxXSpinner, minZSpinner, maxZSpinner, minHeightSpinner, maxHeightSpinner;
     private final SearchPanel parentPanel;
-    private static final int TARGET_LEVEL = 5;
 
     public HeightSearchCondition(SearchPanel parent) {
         this.parentPanel = parent;
@@ -80,48 +78,11 @@ public class HeightSearchCondition extends JPanel {
         panel.add(component, gbc);
     }
 
-    public boolean checkCondition(SeedChecker checker) {
-        SeedChecker optimizedChecker = new SeedChecker(
-            checker.getSeed(),
-            TARGET_LEVEL
-        );
-        
-        int minX = (Integer) minXSpinner.getValue();
-        int maxX = (Integer) maxXSpinner.getValue();
-        int minZ = (Integer) minZSpinner.getValue();
-        int maxZ = (Integer) maxZSpinner.getValue();
-        int minHeight = (Integer) minHeightSpinner.getValue();
-        int maxHeight = (Integer) maxHeightSpinner.getValue();
-
-        if (minX > maxX || minZ > maxZ) {
-            return false;
-        }
-
-        try {
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    int highestY = -64;
-                    for (int y = 256; y >= -64; y--) {
-                        var blockState = optimizedChecker.getBlockState(x, y, z);
-                        if (!blockState.isAir()) {
-                            highestY = y;
-                            break;
-                        }
-                    }
-
-                    if (highestY >= minHeight && highestY <= maxHeight) {
-                        return true;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        } finally {
-            optimizedChecker.clearMemory();
-        }
-
-        return false;
+    public HeightCheck toCheck() {
+        return new HeightCheck(
+                (Integer) minXSpinner.getValue(), (Integer) maxXSpinner.getValue(),
+                (Integer) minZSpinner.getValue(), (Integer) maxZSpinner.getValue(),
+                (Integer) minHeightSpinner.getValue(), (Integer) maxHeightSpinner.getValue());
     }
 
     public JSpinner getMinXSpinner() { return minXSpinner; }
@@ -0,0 +1,10 @@
+package fragrant.search;
+
+public enum MatchMode {
+    ALL,
+    ANY;
+
+    public static MatchMode fromIndex(int conditionTypeIndex) {
+        return conditionTypeIndex == 0 ? ALL : ANY;
+    }
+}
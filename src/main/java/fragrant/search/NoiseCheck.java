@@ -0,0 +1,118 @@
+package fragrant.search;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import nl.kallestruik.noisesampler.NoiseSampler;
+import nl.kallestruik.noisesampler.NoiseType;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+
+public record NoiseCheck(Dimension dimension, NoiseType noiseType,
+                         int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
+                         double threshold, ThresholdMode thresholdMode, MatchMode matchMode) implements ConditionCheck {
+
+    /**
+     * Noise types whose value only depends on the lower 48 bits of the seed, per dimension.
+     * The Nether climate noises and the End island noise are seeded through {@code LegacyRandomSource},
+     * which masks the seed to 48 bits. Nether and End terrain splines are constants, so their terrain values,
+     * depth and jagged noise (zero without peaks) do not depend on the seed at all, and neither does the
+     * island noise of dimensions that have none.
+     */
+    private static final Map<Dimension, Set<NoiseType>> STRUCTURE_SEED_NOISES = new EnumMap<>(Map.of(
+            Dimension.OVERWORLD, EnumSet.of(NoiseType.ISLAND),
+            Dimension.NETHER, EnumSet.of(
+                    NoiseType.TEMPERATURE, NoiseType.HUMIDITY,
+                    NoiseType.CONTINENTALNESS, NoiseType.EROSION, NoiseType.WEIRDNESS, NoiseType.DEPTH,
+                    NoiseType.ISLAND, NoiseType.JAGGED,
+                    NoiseType.TERRAIN_PEAKS, NoiseType.TERRAIN_OFFSET, NoiseType.TERRAIN_FACTOR),
+            Dimension.THEEND, EnumSet.of(
+                    NoiseType.DEPTH, NoiseType.ISLAND, NoiseType.JAGGED,
+                    NoiseType.TERRAIN_PEAKS, NoiseType.TERRAIN_OFFSET, NoiseType.TERRAIN_FACTOR)));
+
+    /** Boxes with fewer points than this are swept point by point instead of split further. */
+    private static final long MIN_SPLIT_VOLUME = 16;
+
+    @Override
+    public boolean test(SeedContext context) {
+        NoiseSampler sampler = context.noiseSampler(dimension);
+        boolean requireAll = matchMode == MatchMode.ALL;
+
+        NoiseSampler.VariationBound bound = sampler.variationBound(noiseType, minX, maxX, minY, maxY, minZ, maxZ);
+        if (bound != null) {
+            return containsDecidingPoint(sampler, bound, requireAll, minX, maxX, minY, maxY, minZ, maxZ) != requireAll;
+        }
+
+        // Keep visiting while the outcome is still open: until a miss for ALL, until a hit for ANY.
+        boolean visitedAll = sampler.forEachInBox(noiseType, minX, maxX, minY, maxY, minZ, maxZ, threshold,
+                (x, y, z, comparison) -> thresholdMode.accepts(comparison) == requireAll);
+        return visitedAll == requireAll;
+    }
+
+    /**
+     * Whether the box holds a point that decides the condition: a miss for ALL, a hit for ANY. The middle point is
+     * sampled; when the variation bound keeps every other value of the box on the same side of the threshold, the
+     * rest of the box is settled without sampling it, otherwise the box is split in two along its longest side.
+     * Where the bound is too loose for smaller boxes to settle either, the box is swept instead.
+     */
+    private boolean containsDecidingPoint(NoiseSampler sampler, NoiseSampler.VariationBound bound, boolean requireAll,
+                                          int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        long volume = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (volume < MIN_SPLIT_VOLUME) {
+            return !sampler.forEachInBox(noiseType, minX, maxX, minY, maxY, minZ, maxZ, threshold,
+                    (x, y, z, comparison) -> thresholdMode.accepts(comparison) == requireAll);
+        }
+        int x = (minX + maxX) >> 1;
+        int y = (minY + maxY) >> 1;
+        int z = (minZ + maxZ) >> 1;
+        double value = sampler.sample(noiseType, x, y, z);
+        if (thresholdMode.accepts(value, threshold) != requireAll) {
+            return true;
+        }
+        int extentX = Math.max(x - minX, maxX - x);
+        int extentY = Math.max(y - minY, maxY - y);
+        int extentZ = Math.max(z - minZ, maxZ - z);
+        if (settles(value, bound.over(extentX, extentY, extentZ), requireAll)) {
+            return false;
+        }
+        if (!settles(value, bound.over(extentX >> 1, extentY >> 1, extentZ >> 1), requireAll)) {
+            // Not even boxes half this size around the same value would settle, so splitting only adds samples.
+            return !sampler.forEachInBox(noiseType, minX, maxX, minY, maxY, minZ, maxZ, threshold,
+                    (px, py, pz, comparison) -> thresholdMode.accepts(comparison) == requireAll);
+        }
+        int sizeX = maxX - minX;
+        int sizeY = maxY - minY;
+        int sizeZ = maxZ - minZ;
+        if (sizeX >= sizeY && sizeX >= sizeZ) {
+            return containsDecidingPoint(sampler, bound, requireAll, minX, x, minY, maxY, minZ, maxZ)
+                    || containsDecidingPoint(sampler, bound, requireAll, x + 1, maxX, minY, maxY, minZ, maxZ);
+        }
+        if (sizeZ >= sizeY) {
+            return containsDecidingPoint(sampler, bound, requireAll, minX, maxX, minY, maxY, minZ, z)
+                    || containsDecidingPoint(sampler, bound, requireAll, minX, maxX, minY, maxY, z + 1, maxZ);
+        }
+        return containsDecidingPoint(sampler, bound, requireAll, minX, maxX, minY, y, minZ, maxZ)
+                || containsDecidingPoint(sampler, bound, requireAll, minX, maxX, y + 1, maxY, minZ, maxZ);
+    }
+
+    /** Whether every value within {@code spread} of {@code value} lies on the same, non-deciding side. */
+    private boolean settles(double value, double spread, boolean requireAll) {
+        return thresholdMode.accepts(value - spread, threshold) == requireAll
+                && thresholdMode.accepts(value + spread, threshold) == requireAll;
+    }
+
+    @Override
+    public SamplerKind samplerKind() {
+        return SamplerKind.NOISE;
+    }
+
+    @Override
+    public boolean structureSeedOnly() {
+        return dependsOnStructureSeedOnly(dimension, noiseType);
+    }
+
+    public static boolean dependsOnStructureSeedOnly(Dimension dimension, NoiseType noiseType) {
+        return STRUCTURE_SEED_NOISES.get(dimension).contains(noiseType);
+    }
+}
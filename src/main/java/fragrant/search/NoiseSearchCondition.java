@@ -4,7 +4,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.FlowLayout;
 import java.awt.Insets;
-import java.util.Map;
 
 import javax.swing.SpinnerNumberModel;
 import javax.swing.BorderFactory;
@@ -18,19 +17,21 @@ import javax.swing.JPanel;
 
 import fragrant.components.SearchPanel;
 
-import nl.kallestruik.noisesampler.NoiseSampler;
 import nl.kallestruik.noisesampler.NoiseType;
+import nl.kallestruik.noisesampler.minecraft.Dimension;
 
 public class NoiseSearchCondition extends JPanel {
+    private final JComboBox<Dimension> dimensionCombo;
     private final JComboBox<NoiseType> noiseTypeCombo;
     private final JSpinner minXSpinner, maxXSpinner, minYSpinner, maxYSpinner, minZSpinner, maxZSpinner;
     private final JSpinner thresholdSpinner;
     private final JComboBox<String> conditionTypeCombo;
     private final JComboBox<String> thresholdConditionCombo;
 
-    public void setValues(NoiseType noiseType, int minX, int maxX, int minY, int maxY,
+    public void setValues(Dimension dimension, NoiseType noiseType, int minX, int maxX, int minY, int maxY,
             int minZ, int maxZ, double threshold,
             int thresholdConditionIndex, int conditionTypeIndex) {
+        dimensionCombo.setSelectedItem(dimension);
         noiseTypeCombo.setSelectedItem(noiseType);
         minXSpinner.setValue(minX);
         maxXSpinner.setValue(maxX);
@@ -47,6 +48,7 @@ public class NoiseSearchCondition extends JPanel {
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
         setBorder(BorderFactory.createTitledBorder("Noise Condition"));
 
+        dimensionCombo = new JComboBox<>(Dimension.values());
         noiseTypeCombo = new JComboBox<>(NoiseType.values());
 
         minXSpinner = new JSpinner(new SpinnerNumberModel(0, Integer.MIN_VALUE, Integer.MAX_VALUE, 1));
@@ -74,16 +76,17 @@ public class NoiseSearchCondition extends JPanel {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.insets = new Insets(2, 5, 2, 5);
 
-        addComponent(fieldsPanel, "Noise Type:", noiseTypeCombo, gbc, 0);
-        addComponent(fieldsPanel, "Min X:", minXSpinner, gbc, 1);
-        addComponent(fieldsPanel, "Max X:", maxXSpinner, gbc, 2);
-        addComponent(fieldsPanel, "Min Y:", minYSpinner, gbc, 3);
-        addComponent(fieldsPanel, "Max Y:", maxYSpinner, gbc, 4);
-        addComponent(fieldsPanel, "Min Z:", minZSpinner, gbc, 5);
-        addComponent(fieldsPanel, "Max Z:", maxZSpinner, gbc, 6);
-        addComponent(fieldsPanel, "Threshold:", thresholdSpinner, gbc, 7);
-        addComponent(fieldsPanel, "Threshold Condition:", thresholdConditionCombo, gbc, 8);
-        addComponent(fieldsPanel, "Condition:", conditionTypeCombo, gbc, 9);
+        addComponent(fieldsPanel, "Dimension:", dimensionCombo, gbc, 0);
+        addComponent(fieldsPanel, "Noise Type:", noiseTypeCombo, gbc, 1);
+        addComponent(fieldsPanel, "Min X:", minXSpinner, gbc, 2);
+        addComponent(fieldsPanel, "Max X:", maxXSpinner, gbc, 3);
+        addComponent(fieldsPanel, "Min Y:", minYSpinner, gbc, 4);
+        addComponent(fieldsPanel, "Max Y:", maxYSpinner, gbc, 5);
+        addComponent(fieldsPanel, "Min Z:", minZSpinner, gbc, 6);
+        addComponent(fieldsPanel, "Max Z:", maxZSpinner, gbc, 7);
+        addComponent(fieldsPanel, "Threshold:", thresholdSpinner, gbc, 8);
+        addComponent(fieldsPanel, "Threshold Condition:", thresholdConditionCombo, gbc, 9);
+        addComponent(fieldsPanel, "Condition:", conditionTypeCombo, gbc, 10);
 
         buttonPanel.add(upButton);
         buttonPanel.add(downButton);
@@ -103,43 +106,19 @@ public class NoiseSearchCondition extends JPanel {
         panel.add(component, gbc);
     }
 
-    public boolean checkCondition(NoiseSampler sampler) {
-        NoiseType noiseType = (NoiseType) noiseTypeCombo.getSelectedItem();
-        double threshold = (Double) thresholdSpinner.getValue();
-        boolean requireAll = conditionTypeCombo.getSelectedIndex() == 0;
-        boolean isGreaterOrEqual = thresholdConditionCombo.getSelectedIndex() == 0;
-
-        int minX = (Integer) minXSpinner.getValue();
-        int maxX = (Integer) maxXSpinner.getValue();
-        int minY = (Integer) minYSpinner.getValue();
-        int maxY = (Integer) maxYSpinner.getValue();
-        int minZ = (Integer) minZSpinner.getValue();
-        int maxZ = (Integer) maxZSpinner.getValue();
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Map<NoiseType, Double> noiseValues = sampler.queryNoise(x, y, z, noiseType);
-                    double value = noiseValues.get(noiseType);
-
-                    boolean meetsThreshold = isGreaterOrEqual ? value >= threshold : value <= threshold;
-
-                    if (requireAll) {
-                        if (!meetsThreshold) {
-                            return false;
-                        }
-                    } else {
-                        if (meetsThreshold) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-
-        return requireAll;
+    public NoiseCheck toCheck() {
+        return new NoiseCheck(
+                getDimension(),
+                getNoiseType(),
+                getMinX(), getMaxX(),
+                getMinY(), getMaxY(),
+                getMinZ(), getMaxZ(),
+                getThreshold(),
+                ThresholdMode.fromIndex(getThresholdConditionIndex()),
+                MatchMode.fromIndex(getConditionTypeIndex()));
     }
 
+    public Dimension getDimension() { return (Dimension) dimensionCombo.getSelectedItem(); }
     public NoiseType getNoiseType() { return (NoiseType) noiseTypeCombo.getSelectedItem(); }
     public int getThresholdConditionIndex() { return thresholdConditionCombo.getSelectedIndex(); }
     public int getConditionTypeIndex() { return conditionTypeCombo.getSelectedIndex(); }
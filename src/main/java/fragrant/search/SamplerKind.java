@@ -0,0 +1,11 @@
+package fragrant.search;
+
+/**
+ * The per-seed sampler a condition needs. Building one is a shared cost paid by
+ * whichever condition asks for it first.
+ */
+public enum SamplerKind {
+    NOISE,
+    BIOME,
+    HEIGHT
+}
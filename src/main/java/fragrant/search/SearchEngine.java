@@ -0,0 +1,175 @@
+package fragrant.search;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.List;
+
+/**
+ * Runs a search on a pool of worker threads without any UI dependency.
+ * Both the Swing search panel and the command-line runner drive searches through this class.
+ * <p>
+ * Checks that only depend on the structure seed run first, once per structure seed: consecutive seeds sharing
+ * one reuse the result, and when it fails the rest of the source's run for that structure seed is skipped.
+ */
+public final class SearchEngine {
+    private static final long STRUCTURE_MASK = (1L << 48) - 1;
+
+    public interface Listener {
+        /** Called on a worker thread for every seed that passes all conditions. */
+        void onMatch(long seed);
+
+        /** Called once, on the last worker thread to exit, when every seed of the source has been checked. */
+        void onFinished(SearchEngine engine);
+
+        /**
+         * Called once, on the last worker thread to exit, instead of {@link #onFinished} when a worker threw.
+         * The search is stopped by then; seeds that were in flight are still pending in the scheduler.
+         */
+        void onFailed(SearchEngine engine, Throwable error);
+    }
+
+    private final ConditionPlan plan;
+    private final ConditionPlanner structurePlanner;
+    private final ConditionPlanner worldPlanner;
+    private final SeedSource source;
+    private final int threadCount;
+    private final SeedRangeScheduler scheduler;
+    private final SearchTelemetry telemetry = new SearchTelemetry();
+    private final Listener listener;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean running = false;
+    private ExecutorService executor;
+
+    public SearchEngine(ConditionPlan plan, ConditionOrder order, SeedSource source, int threadCount,
+                        Listener listener) {
+        this(plan, order, source, threadCount, null, listener);
+    }
+
+    /** @param pendingRanges ranges still to check from a previous run, or null to start from the beginning */
+    public SearchEngine(ConditionPlan plan, ConditionOrder order, SeedSource source, int threadCount,
+                        List<long[]> pendingRanges, Listener listener) {
+        this(plan, plan.hasStructureChecks() ? new ConditionPlanner(plan.structurePlan(), order) : null,
+                new ConditionPlanner(plan.worldPlan(), order), source, threadCount, pendingRanges, listener);
+    }
+
+    /**
+     * A search of other ranges of the same source with the same conditions and threads as {@code previous}, which
+     * keeps the condition order {@code previous} has learned instead of warming up again.
+     */
+    public SearchEngine(SearchEngine previous, List<long[]> pendingRanges, Listener listener) {
+        this(previous.plan, previous.structurePlanner, previous.worldPlanner, previous.source, previous.threadCount,
+                pendingRanges, listener);
+    }
+
+    private SearchEngine(ConditionPlan plan, ConditionPlanner structurePlanner, ConditionPlanner worldPlanner,
+                         SeedSource source, int threadCount, List<long[]> pendingRanges, Listener listener) {
+        this.plan = plan;
+        this.structurePlanner = structurePlanner;
+        this.worldPlanner = worldPlanner;
+        this.source = source;
+        this.threadCount = threadCount;
+        this.listener = listener;
+        this.scheduler = pendingRanges == null
+                ? new SeedRangeScheduler(source.size(), threadCount)
+                : new SeedRangeScheduler(source.size(), threadCount, pendingRanges);
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Search already started");
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(threadCount);
+        AtomicInteger runningWorkers = new AtomicInteger(threadCount);
+
+        for (int slot = 0; slot < threadCount; slot++) {
+            SeedRangeScheduler.Worker worker = scheduler.worker(slot);
+            executor.submit(() -> {
+                try {
+                    SeedContext context = new SeedContext(plan);
+                    SearchTelemetry.Probe probe = telemetry.newProbe();
+                    context.setProbe(probe);
+                    long index;
+                    long lastStructureSeed = -1L;
+                    boolean lastStructurePassed = false;
+                    while (running && !Thread.currentThread().isInterrupted() && (index = worker.next()) >= 0) {
+                        long seed = source.seedAt(index);
+                        if (structurePlanner != null) {
+                            long structureSeed = seed & STRUCTURE_MASK;
+                            if (structureSeed != lastStructureSeed) {
+                                lastStructureSeed = structureSeed;
+                                lastStructurePassed = structurePlanner.test(context, seed);
+                            }
+                            if (!lastStructurePassed) {
+                                worker.done();
+                                probe.seedDone();
+                                probe.seedsDone(worker.skipTo(source.structureRunEnd(index)));
+                                continue;
+                            }
+                        }
+                        if (worldPlanner.test(context, seed)) {
+                            listener.onMatch(seed);
+                        }
+                        worker.done();
+                        probe.seedDone();
+                    }
+                } catch (Throwable e) {
+                    if (failure.compareAndSet(null, e)) {
+                        stop();
+                    }
+                } finally {
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        Throwable error = failure.get();
+                        if (error != null) {
+                            listener.onFailed(this, error);
+                        } else if (scheduler.isFinished()) {
+                            listener.onFinished(this);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /** Stops handing out seeds and interrupts the workers. Seeds in flight stay pending in the scheduler. */
+    public synchronized void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        ExecutorService current;
+        synchronized (this) {
+            current = executor;
+        }
+        return current == null || current.awaitTermination(timeout, unit);
+    }
+
+    /** The first exception a worker threw, or null. */
+    public Throwable getFailure() {
+        return failure.get();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public SeedSource getSource() {
+        return source;
+    }
+
+    public SeedRangeScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public SearchTelemetry getTelemetry() {
+        return telemetry;
+    }
+}
@@ -0,0 +1,110 @@
+package fragrant.search;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.List;
+
+/**
+ * Progress and per-stage counters for one search.
+ * Every worker thread records into its own {@link Probe}, so the hot path never contends on a shared
+ * counter; the UI aggregates all probes once per status update.
+ */
+public final class SearchTelemetry {
+    private static final int KINDS = SamplerKind.values().length;
+    private static final int SEEDS = 0;
+    private static final int EVALUATED = 1;
+    private static final int PASSED = EVALUATED + KINDS;
+    private static final int BUILDS = PASSED + KINDS;
+    private static final int BUILD_NANOS = BUILDS + KINDS;
+    private static final int CHECK_NANOS = BUILD_NANOS + KINDS;
+    private static final int COUNTERS = CHECK_NANOS + KINDS;
+    /** Longs of padding on either side so two probes never share a cache line. */
+    private static final int PADDING = 8;
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+
+    public Probe newProbe() {
+        Probe probe = new Probe();
+        probes.add(probe);
+        return probe;
+    }
+
+    public Snapshot snapshot() {
+        long[] totals = new long[COUNTERS];
+        for (Probe probe : probes) {
+            for (int i = 0; i < COUNTERS; i++) {
+                totals[i] += probe.counters.get(PADDING + i);
+            }
+        }
+        return new Snapshot(totals);
+    }
+
+    /** Single-writer counters owned by one worker thread. */
+    public static final class Probe {
+        private final AtomicLongArray counters = new AtomicLongArray(COUNTERS + 2 * PADDING);
+
+        private Probe() {
+        }
+
+        public void seedDone() {
+            add(SEEDS, 1);
+        }
+
+        public void seedsDone(long count) {
+            add(SEEDS, count);
+        }
+
+        void recordCheck(SamplerKind kind, boolean passed, long buildNanos, long totalNanos) {
+            int k = kind.ordinal();
+            add(EVALUATED + k, 1);
+            if (passed) {
+                add(PASSED + k, 1);
+            }
+            if (buildNanos > 0) {
+                add(BUILDS + k, 1);
+                add(BUILD_NANOS + k, buildNanos);
+            }
+            add(CHECK_NANOS + k, totalNanos);
+        }
+
+        private void add(int index, long delta) {
+            int slot = PADDING + index;
+            counters.lazySet(slot, counters.get(slot) + delta);
+        }
+    }
+
+    public static final class Snapshot {
+        private final long[] totals;
+
+        private Snapshot(long[] totals) {
+            this.totals = totals;
+        }
+
+        public long getSeeds() {
+            return totals[SEEDS];
+        }
+
+        public long getEvaluated(SamplerKind kind) {
+            return totals[EVALUATED + kind.ordinal()];
+        }
+
+        public long getPassed(SamplerKind kind) {
+            return totals[PASSED + kind.ordinal()];
+        }
+
+        /** Number of checks of this stage that had to construct a sampler for their seed. */
+        public long getBuilds(SamplerKind kind) {
+            return totals[BUILDS + kind.ordinal()];
+        }
+
+        /** Thread-nanoseconds spent constructing samplers for this stage. */
+        public long getBuildNanos(SamplerKind kind) {
+            return totals[BUILD_NANOS + kind.ordinal()];
+        }
+
+        /** Thread-nanoseconds spent evaluating this stage's conditions, excluding sampler construction. */
+        public long getSampleNanos(SamplerKind kind) {
+            return Math.max(0L, totals[CHECK_NANOS + kind.ordinal()] - totals[BUILD_NANOS + kind.ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fragrant.search;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import nl.kallestruik.noisesampler.minecraft.Dimension;
+import nl.jellejurre.biomesampler.BiomeSampler;
+import nl.kallestruik.noisesampler.NoiseSampler;
+import nl.kallestruik.noisesampler.NoiseType;
+import nl.jellejurre.seedchecker.SeedChecker;
+
+/**
+ * Per-worker holder for the samplers of the seed currently being checked.
+ * Samplers are built on first use so conditions that reject early never pay for the others, and noise samplers
+ * only build the noises the plan's checks sample in their dimension.
+ */
+public final class SeedContext {
+    private final long[] buildNanos = new long[SamplerKind.values().length];
+    private long seed;
+    private long testedSeeds;
+    private SearchTelemetry.Probe probe;
+    private final NoiseSampler[] noiseSamplers = new NoiseSampler[Dimension.values().length];
+    private final Map<Dimension, Set<NoiseType>> noiseTypes = new EnumMap<>(Dimension.class);
+    private final BiomeSampler[] biomeSamplers = new BiomeSampler[Dimension.values().length];
+    private SeedChecker seedChecker;
+
+    public SeedContext(ConditionPlan plan) {
+        for (Dimension dimension : Dimension.values()) {
+            noiseTypes.put(dimension, plan.noiseTypes(dimension));
+        }
+    }
+
+    public void begin(long seed) {
+        this.seed = seed;
+        Arrays.fill(noiseSamplers, null);
+        Arrays.fill(biomeSamplers, null);
+        this.seedChecker = null;
+        Arrays.fill(buildNanos, 0L);
+        testedSeeds++;
+    }
+
+    public void end() {
+        if (seedChecker != null) {
+            seedChecker.clearMemory();
+            seedChecker = null;
+        }
+        Arrays.fill(noiseSamplers, null);
+        Arrays.fill(biomeSamplers, null);
+    }
+
+    public void setProbe(SearchTelemetry.Probe probe) {
+        this.probe = probe;
+    }
+
+    /** Runs one check against the current seed, recording it in the telemetry probe if there is one. */
+    public boolean evaluate(ConditionCheck check) {
+        if (probe == null) {
+            return check.test(this);
+        }
+        SamplerKind kind = check.samplerKind();
+        long buildBefore = buildNanos[kind.ordinal()];
+        long start = System.nanoTime();
+        boolean passed = check.test(this);
+        long elapsed = System.nanoTime() - start;
+        probe.recordCheck(kind, passed, buildNanos[kind.ordinal()] - buildBefore, elapsed);
+        return passed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTestedSeeds() {
+        return testedSeeds;
+    }
+
+    /** Nanoseconds spent building the given sampler for the current seed, or 0 if it was not built. */
+    public long getBuildNanos(SamplerKind kind) {
+        return buildNanos[kind.ordinal()];
+    }
+
+    public long getTotalBuildNanos() {
+        long total = 0;
+        for (long nanos : buildNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    public NoiseSampler noiseSampler(Dimension dimension) {
+        NoiseSampler sampler = noiseSamplers[dimension.ordinal()];
+        if (sampler == null) {
+            long start = System.nanoTime();
+            sampler = new NoiseSampler(seed, dimension, noiseTypes.get(dimension));
+            noiseSamplers[dimension.ordinal()] = sampler;
+            buildNanos[SamplerKind.NOISE.ordinal()] += System.nanoTime() - start;
+        }
+        return sampler;
+    }
+
+    public BiomeSampler biomeSampler(Dimension dimension) {
+        BiomeSampler sampler = biomeSamplers[dimension.ordinal()];
+        if (sampler == null) {
+            long start = System.nanoTime();
+            sampler = new BiomeSampler(seed, dimension);
+            biomeSamplers[dimension.ordinal()] = sampler;
+            buildNanos[SamplerKind.BIOME.ordinal()] += System.nanoTime() - start;
+        }
+        return sampler;
+    }
+
+    public SeedChecker seedChecker() {
+        if (seedChecker == null) {
+            long start = System.nanoTime();
+            seedChecker = new SeedChecker(seed, HeightCheck.TARGET_LEVEL);
+            buildNanos[SamplerKind.HEIGHT.ordinal()] = System.nanoTime() - start;
+        }
+        return seedChecker;
+    }
+}
@@ -0,0 +1,333 @@
+package fragrant.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens seed lists as {@link SeedSource}s without ever holding the whole list on the heap.
+ * <ul>
+ *     <li>Text files hold one seed per line, decimal or {@code 0x}-prefixed hex; other lines are skipped.
+ *     They are memory-mapped and indexed in parallel chunks, keeping only every
+ *     {@value #INDEX_STRIDE}th line offset.</li>
+ *     <li>Files ending in {@code .bin} hold raw little-endian longs and are memory-mapped directly.</li>
+ *     <li>Gzip files (either format inside) are decompressed once, streaming, into a temporary binary file.</li>
+ * </ul>
+ */
+public final class SeedFiles {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long CHUNK_SIZE = 64L << 20;
+    private static final int INDEX_STRIDE = 1024;
+    private static final int MAX_LINE = 64;
+
+    private SeedFiles() {
+    }
+
+    public static SeedSource open(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase();
+        if (isGzip(path)) {
+            return openBinary(decompressToBinary(path, name.endsWith(".bin.gz")));
+        }
+        if (name.endsWith(".bin")) {
+            return openBinary(path);
+        }
+        return new TextSeedSource(new MappedFile(path));
+    }
+
+    private static SeedSource openBinary(Path path) throws IOException {
+        MappedFile file = new MappedFile(path);
+        if (file.size % Long.BYTES != 0) {
+            throw new IOException("Binary seed file size is not a multiple of 8 bytes: " + path);
+        }
+        long count = file.size / Long.BYTES;
+        return new SeedSource() {
+            @Override
+            public long size() {
+                return count;
+            }
+
+            @Override
+            public long seedAt(long index) {
+                return file.longAt(index * Long.BYTES);
+            }
+        };
+    }
+
+    private static boolean isGzip(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.read() == 0x1F && in.read() == 0x8B;
+        }
+    }
+
+    /** Streams a gzip file into a temporary file of little-endian longs, parsing text on the way if needed. */
+    private static Path decompressToBinary(Path path, boolean binary) throws IOException {
+        Path temp = Files.createTempFile("seeds-", ".bin");
+        temp.toFile().deleteOnExit();
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 1 << 16), 1 << 16);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+            if (binary) {
+                in.transferTo(out);
+                return temp;
+            }
+            byte[] line = new byte[MAX_LINE];
+            byte[] encoded = new byte[Long.BYTES];
+            long[] result = new long[1];
+            int length = 0;
+            boolean overflow = false;
+            int b;
+            while (true) {
+                b = in.read();
+                if (b == '\n' || b < 0) {
+                    if (!overflow && parseSeed(line, length, result)) {
+                        long seed = result[0];
+                        for (int i = 0; i < Long.BYTES; i++) {
+                            encoded[i] = (byte) (seed >>> (8 * i));
+                        }
+                        out.write(encoded);
+                    }
+                    if (b < 0) {
+                        break;
+                    }
+                    length = 0;
+                    overflow = false;
+                } else if (length < MAX_LINE) {
+                    line[length++] = (byte) b;
+                } else {
+                    overflow = true;
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Parses one line with the same rules as {@code Long.parseLong(line.trim())}, plus {@code 0x} hex.
+     * Hex takes up to 16 digits and is read as an unsigned 64-bit value.
+     */
+    static boolean parseSeed(byte[] line, int length, long[] out) {
+        int start = 0;
+        int end = length;
+        while (start < end && (line[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (line[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return false;
+        }
+
+        boolean negative = false;
+        if (line[start] == '-' || line[start] == '+') {
+            negative = line[start] == '-';
+            start++;
+        }
+        if (start == end) {
+            return false;
+        }
+
+        if (end - start > 2 && line[start] == '0' && (line[start + 1] == 'x' || line[start + 1] == 'X')) {
+            start += 2;
+            if (end - start > 16) {
+                return false;
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = Character.digit(line[i], 16);
+                if (digit < 0) {
+                    return false;
+                }
+                value = (value << 4) | digit;
+            }
+            out[0] = negative ? -value : value;
+            return true;
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        out[0] = negative ? result : -result;
+        return true;
+    }
+
+    /** Read-only mapping of a whole file, split into 1 GiB segments so files over 2 GiB work. */
+    private static final class MappedFile {
+        final long size;
+        private final MappedByteBuffer[] segments;
+
+        MappedFile(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                size = channel.size();
+                int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+                segments = new MappedByteBuffer[count];
+                for (int i = 0; i < count; i++) {
+                    long position = (long) i << SEGMENT_SHIFT;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(SEGMENT_SIZE, size - position));
+                    segments[i].order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+        }
+
+        byte byteAt(long position) {
+            return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & (SEGMENT_SIZE - 1)));
+        }
+
+        /** Segment boundaries are multiples of 8, so an aligned long never straddles two segments. */
+        long longAt(long position) {
+            return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & (SEGMENT_SIZE - 1)));
+        }
+    }
+
+    /**
+     * Text seed list indexed by valid seed number. Chunks are scanned in parallel once on open, recording each
+     * chunk's seed count and the offset of every {@value #INDEX_STRIDE}th seed. Lookups keep a per-thread cursor,
+     * so the sequential walk a worker does through its block parses each line exactly once.
+     */
+    private static final class TextSeedSource implements SeedSource {
+        private final MappedFile file;
+        private final long[] chunkBase;
+        private final long[][] chunkIndex;
+        private final long size;
+        private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+
+        TextSeedSource(MappedFile file) {
+            this.file = file;
+            int chunkCount = (int) Math.max(1, (file.size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            long[] starts = new long[chunkCount + 1];
+            for (int c = 1; c < chunkCount; c++) {
+                starts[c] = lineStartAtOrAfter(c * CHUNK_SIZE);
+            }
+            starts[chunkCount] = file.size;
+
+            long[] counts = new long[chunkCount];
+            long[][] index = new long[chunkCount][];
+            IntStream.range(0, chunkCount).parallel().forEach(c -> {
+                Cursor cursor = new Cursor();
+                long[] offsets = new long[16];
+                long count = 0;
+                long position = starts[c];
+                while ((position = nextSeed(position, starts[c + 1], cursor)) >= 0) {
+                    if (count % INDEX_STRIDE == 0) {
+                        int slot = (int) (count / INDEX_STRIDE);
+                        if (slot == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, slot * 2);
+                        }
+                        offsets[slot] = position;
+                    }
+                    count++;
+                    position = cursor.nextLine;
+                }
+                counts[c] = count;
+                index[c] = Arrays.copyOf(offsets, (int) ((count + INDEX_STRIDE - 1) / INDEX_STRIDE));
+            });
+
+            this.chunkBase = new long[chunkCount + 1];
+            for (int c = 0; c < chunkCount; c++) {
+                chunkBase[c + 1] = chunkBase[c] + counts[c];
+            }
+            this.chunkIndex = index;
+            this.size = chunkBase[chunkCount];
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long seedAt(long index) {
+            Cursor cursor = cursors.get();
+            long position;
+            if (index == cursor.nextIndex) {
+                position = cursor.nextLine;
+            } else {
+                int chunk = Arrays.binarySearch(chunkBase, index);
+                chunk = chunk >= 0 ? chunk : -chunk - 2;
+                while (chunkBase[chunk + 1] == chunkBase[chunk]) {
+                    chunk++;
+                }
+                long local = index - chunkBase[chunk];
+                position = chunkIndex[chunk][(int) (local / INDEX_STRIDE)];
+                for (long skip = local % INDEX_STRIDE; skip > 0; skip--) {
+                    nextSeed(position, file.size, cursor);
+                    position = cursor.nextLine;
+                }
+            }
+            nextSeed(position, file.size, cursor);
+            cursor.nextIndex = index + 1;
+            return cursor.value;
+        }
+
+        private long lineStartAtOrAfter(long position) {
+            while (position < file.size && file.byteAt(position - 1) != '\n') {
+                position++;
+            }
+            return position;
+        }
+
+        /**
+         * Finds the first valid seed line starting in {@code [position, limit)}. Returns its start offset, storing
+         * the seed and the following line's offset in the cursor, or -1 if there is none.
+         */
+        private long nextSeed(long position, long limit, Cursor cursor) {
+            byte[] line = cursor.line;
+            while (position < limit) {
+                int length = 0;
+                boolean overflow = false;
+                long end = position;
+                byte b;
+                while (end < file.size && (b = file.byteAt(end)) != '\n') {
+                    if (length < MAX_LINE) {
+                        line[length++] = b;
+                    } else {
+                        overflow = true;
+                    }
+                    end++;
+                }
+                long next = end + 1;
+                if (!overflow && parseSeed(line, length, cursor.result)) {
+                    cursor.value = cursor.result[0];
+                    cursor.nextLine = next;
+                    return position;
+                }
+                position = next;
+            }
+            return -1;
+        }
+
+        private static final class Cursor {
+            final byte[] line = new byte[MAX_LINE];
+            final long[] result = new long[1];
+            long nextIndex = -1;
+            long nextLine;
+            long value;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package fragrant.search;
+
+/**
+ * How a search walks the seed space. Labels match the entries of the search mode combo box,
+ * which is also what {@code SearchConfig.searchMode} stores.
+ */
+public enum SeedMode {
+    FULL_RANGE("Full Range", 0xFFFFFFFFFFFFFFFFL, 1L, Long.MAX_VALUE),
+    FIXED_LOWER_32("Fixed Lower 32 bits", 0xFFFFFFFF00000000L, 1L << 32, 1L << 32),
+    FIXED_LOWER_48("Fixed Lower 48 bits", 0xFFFF000000000000L, 1L << 48, 1L << 16),
+    FILE("Seeds from File", 0L, 0L, 0L);
+
+    private static final long STRUCTURE_MASK = (1L << 48) - 1;
+    private static final int UPPER_BITS = 16;
+    private static final long UPPER_MASK = (1L << UPPER_BITS) - 1;
+
+    private final String label;
+    private final long mask;
+    private final long step;
+    private final long seedCount;
+
+    SeedMode(String label, long mask, long step, long seedCount) {
+        this.label = label;
+        this.mask = mask;
+        this.step = step;
+        this.seedCount = seedCount;
+    }
+
+    public static SeedMode fromIndex(int index) {
+        return values()[index];
+    }
+
+    public static SeedMode fromLabel(String label) {
+        for (SeedMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return mode;
+            }
+        }
+        return FULL_RANGE;
+    }
+
+    public boolean usesFixedBits() {
+        return this == FIXED_LOWER_32 || this == FIXED_LOWER_48;
+    }
+
+    /** Counter source for this mode; the upper bits count up from {@code startSeed}, the rest come from {@code fixedBits}. */
+    public SeedSource counter(long startSeed, long fixedBits) {
+        if (this == FILE) {
+            throw new IllegalStateException("File mode has no counter");
+        }
+        return SeedSource.counter(startSeed, step, mask, fixedBits, ~mask, seedCount);
+    }
+
+    /**
+     * Like {@link #counter(long, long)}, but when {@code structureMajor} is set the upper 16 bits vary fastest,
+     * so each structure seed is one aligned run of 65536 indices that a failed structure-only check skips at once.
+     * Only the lower 48 bits of {@code startSeed} pick where that walk starts. The fixed lower 48 bits mode is a
+     * single structure seed either way.
+     */
+    public SeedSource counter(long startSeed, long fixedBits, boolean structureMajor) {
+        SeedSource counter = counter(startSeed, fixedBits);
+        if (this == FIXED_LOWER_48) {
+            return new SeedSource() {
+                @Override
+                public long size() {
+                    return seedCount;
+                }
+
+                @Override
+                public long seedAt(long index) {
+                    return counter.seedAt(index);
+                }
+
+                @Override
+                public long structureRunEnd(long index) {
+                    return seedCount;
+                }
+            };
+        }
+        if (!structureMajor) {
+            return counter;
+        }
+
+        boolean fullRange = this == FULL_RANGE;
+        long fixed = fixedBits & 0xFFFFFFFFL;
+        return new SeedSource() {
+            @Override
+            public long size() {
+                return seedCount;
+            }
+
+            @Override
+            public long seedAt(long index) {
+                long run = index >>> UPPER_BITS;
+                long structureSeed = fullRange
+                        ? (startSeed + run) & STRUCTURE_MASK
+                        : (((startSeed >>> 32) + run) & UPPER_MASK) << 32 | fixed;
+                return ((index & UPPER_MASK) << 48) | structureSeed;
+            }
+
+            @Override
+            public long structureRunEnd(long index) {
+                return Math.min(seedCount, (index | UPPER_MASK) + 1);
+            }
+        };
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
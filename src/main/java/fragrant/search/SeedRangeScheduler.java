@@ -0,0 +1,242 @@
+package fragrant.search;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hands out contiguous index blocks from a shared cursor to a fixed number of worker slots.
+ * Each worker sizes its next block from the measured per-seed cost of the previous one, so blocks stay
+ * around {@link #TARGET_BLOCK_NANOS} whether a seed takes microseconds or milliseconds. Once the cursor is
+ * exhausted, idle workers steal the upper half of the largest remaining block, so a block that turned out
+ * to be slow never holds up the end of a search.
+ * <p>
+ * Every pending index is owned by exactly one slot, sits in the resume backlog, or lies above the cursor, and
+ * ranges only change owner under one lock, which is what makes {@link #getWatermark()} and
+ * {@link #getPendingRanges()} exact.
+ */
+public final class SeedRangeScheduler {
+    private static final long TARGET_BLOCK_NANOS = 25_000_000L;
+    private static final long MAX_BLOCK_SIZE = 1L << 20;
+    private static final int MAX_GROWTH = 4;
+
+    private final long limit;
+    private final Slot[] slots;
+    private final Deque<long[]> backlog = new ArrayDeque<>();
+    private final LongAdder completed = new LongAdder();
+    private long cursor;
+
+    public SeedRangeScheduler(long limit, int slotCount) {
+        this(limit, slotCount, List.of(new long[] {0L, limit}));
+    }
+
+    /**
+     * Resumes from the ranges that were still pending, as returned by {@link #getPendingRanges()}.
+     * A range that ends at {@code limit} becomes the shared cursor; the others are handed out first.
+     */
+    public SeedRangeScheduler(long limit, int slotCount, List<long[]> pendingRanges) {
+        this.limit = limit;
+        this.cursor = limit;
+        for (long[] range : pendingRanges) {
+            if (range[1] == limit && range[0] < cursor) {
+                if (cursor < limit) {
+                    backlog.add(new long[] {cursor, limit});
+                }
+                cursor = range[0];
+            } else if (range[0] < range[1]) {
+                backlog.add(range.clone());
+            }
+        }
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public Worker worker(int slot) {
+        return new Worker(slots[slot]);
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    /** Number of indices whose evaluation has finished. */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /** Lowest index that has not been completed yet; everything below it is done. */
+    public long getWatermark() {
+        List<long[]> pending = getPendingRanges();
+        return pending.isEmpty() ? limit : pending.get(0)[0];
+    }
+
+    /** Index ranges, as {@code [from, to)} pairs, that still have to be evaluated. Sorted by start. */
+    public List<long[]> getPendingRanges() {
+        List<long[]> ranges = new ArrayList<>(slots.length + backlog.size() + 1);
+        synchronized (backlog) {
+            for (Slot slot : slots) {
+                synchronized (slot) {
+                    long first = slot.firstPending();
+                    if (first < slot.end) {
+                        ranges.add(new long[] {first, slot.end});
+                    }
+                }
+            }
+            for (long[] range : backlog) {
+                ranges.add(range.clone());
+            }
+            if (cursor < limit) {
+                ranges.add(new long[] {cursor, limit});
+            }
+        }
+        ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+        return ranges;
+    }
+
+    public boolean isFinished() {
+        return getPendingRanges().isEmpty();
+    }
+
+    /**
+     * Moves a new block into {@code slot}: from the backlog, then the cursor, then by stealing.
+     * Everything happens under the backlog lock so a range is never invisible to {@link #getPendingRanges()}
+     * while it moves between owners.
+     */
+    private boolean refill(Slot slot, long size) {
+        synchronized (backlog) {
+            long[] range = backlog.poll();
+            if (range != null && range[1] - range[0] > size) {
+                backlog.push(new long[] {range[0] + size, range[1]});
+                range[1] = range[0] + size;
+            }
+            if (range == null && cursor < limit) {
+                long to = cursor + Math.min(size, limit - cursor);
+                range = new long[] {cursor, to};
+                cursor = to;
+            }
+            if (range == null) {
+                range = steal(slot);
+            }
+            if (range == null) {
+                return false;
+            }
+            synchronized (slot) {
+                slot.next = range[0];
+                slot.end = range[1];
+            }
+            return true;
+        }
+    }
+
+    private long[] steal(Slot thief) {
+        while (true) {
+            Slot victim = null;
+            long most = 1;
+            for (Slot slot : slots) {
+                long remaining = slot.end - slot.next;
+                if (slot != thief && remaining > most) {
+                    most = remaining;
+                    victim = slot;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+            synchronized (victim) {
+                long remaining = victim.end - victim.next;
+                if (remaining > 1) {
+                    long mid = victim.next + remaining / 2;
+                    long[] range = {mid, victim.end};
+                    victim.end = mid;
+                    return range;
+                }
+            }
+        }
+    }
+
+    /** A slot's block is {@code [next, end)}; {@code inFlight} is the index its owner is evaluating, or -1. */
+    private static final class Slot {
+        volatile long next;
+        volatile long end;
+        volatile long inFlight = -1;
+
+        long firstPending() {
+            long current = inFlight;
+            return current >= 0 ? current : next;
+        }
+    }
+
+    /** Per-thread view of one slot. Not thread-safe; each search thread owns exactly one. */
+    public final class Worker {
+        private final Slot slot;
+        private long blockSize = 1;
+        private long blockStart;
+        private long blockDone;
+
+        private Worker(Slot slot) {
+            this.slot = slot;
+        }
+
+        /** Returns the next index to evaluate, or -1 when there is no work left anywhere. */
+        public long next() {
+            while (true) {
+                synchronized (slot) {
+                    if (slot.next < slot.end) {
+                        long index = slot.next;
+                        slot.inFlight = index;
+                        slot.next = index + 1;
+                        blockDone++;
+                        return index;
+                    }
+                }
+
+                resize();
+                if (!refill(slot, blockSize)) {
+                    return -1;
+                }
+                blockStart = System.nanoTime();
+                blockDone = 0;
+            }
+        }
+
+        /** Marks the index last returned by {@link #next()} as completed. */
+        public void done() {
+            slot.inFlight = -1;
+            completed.increment();
+        }
+
+        /**
+         * Marks the indices after the last one returned by {@link #next()}, up to {@code to} (exclusive), as
+         * completed without handing them out. Stops early at the end of this worker's range, since the rest
+         * may have been stolen. Returns the number of indices skipped.
+         */
+        public long skipTo(long to) {
+            long skipped;
+            synchronized (slot) {
+                long target = Math.min(to, slot.end);
+                if (target <= slot.next) {
+                    return 0;
+                }
+                skipped = target - slot.next;
+                slot.next = target;
+                blockDone += skipped;
+            }
+            completed.add(skipped);
+            return skipped;
+        }
+
+        private void resize() {
+            if (blockDone == 0) {
+                return;
+            }
+            long elapsed = Math.max(1L, System.nanoTime() - blockStart);
+            double perSeed = (double) elapsed / blockDone;
+            long target = (long) (TARGET_BLOCK_NANOS / perSeed);
+            blockSize = Math.max(1L, Math.min(Math.min(target, blockSize * MAX_GROWTH), MAX_BLOCK_SIZE));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fragrant.search;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free queue of seeds with many producers and one consumer (Vyukov's array queue).
+ * Each cell carries a sequence number: a producer claims a cell by CAS on the tail, writes the seed and then
+ * publishes it by advancing the cell's sequence; the consumer reads published cells in order and hands them
+ * back by advancing the sequence one lap further. Producers never block on a lock; when the ring is full they
+ * back off and retry, which is counted rather than dropping the seed.
+ */
+public final class SeedRing {
+    private static final long BACKOFF_NANOS = 50_000L;
+
+    private final int mask;
+    private final long[] seeds;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder stalls = new LongAdder();
+    private long head;
+
+    /** @param capacity rounded up to a power of two */
+    public SeedRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.seeds = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** Adds a seed without blocking; returns false if the ring is full. Safe from any thread. */
+    public boolean offer(long seed) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    seeds[index] = seed;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Adds a seed, backing off while the ring is full. Every wait is counted in {@link #getStalls()}. */
+    public void put(long seed) {
+        while (!offer(seed)) {
+            stalls.increment();
+            LockSupport.parkNanos(BACKOFF_NANOS);
+        }
+    }
+
+    /**
+     * Moves up to {@code out.length} published seeds into {@code out} and returns how many were moved.
+     * Must only be called from the single consumer thread.
+     */
+    public int drain(long[] out) {
+        int count = 0;
+        while (count < out.length) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            out[count++] = seeds[index];
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /** Number of times a producer found the ring full and had to wait. */
+    public long getStalls() {
+        return stalls.sum();
+    }
+}
@@ -0,0 +1,38 @@
+package fragrant.search;
+
+/**
+ * Maps a dense index space onto the seeds a search visits, so the scheduler only ever hands out index ranges.
+ */
+public interface SeedSource {
+    /** Number of indices in this source, or {@link Long#MAX_VALUE} when the space is unbounded. */
+    long size();
+
+    long seedAt(long index);
+
+    /**
+     * End (exclusive) of the run of indices from {@code index} on that share its structure seed, the lower 48 bits.
+     * Sources that do not group seeds that way return {@code index + 1}.
+     */
+    default long structureRunEnd(long index) {
+        return index + 1;
+    }
+
+    /**
+     * Counter-based seeds: index {@code i} is {@code ((start + i * step) & mask) | (fixedBits & fixedBitsMask)}.
+     * {@code size} is the number of distinct seeds before the counter wraps back to {@code start}.
+     */
+    static SeedSource counter(long start, long step, long mask, long fixedBits, long fixedBitsMask, long size) {
+        long fixed = fixedBits & fixedBitsMask;
+        return new SeedSource() {
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public long seedAt(long index) {
+                return ((start + index * step) & mask) | fixed;
+            }
+        };
+    }
+}
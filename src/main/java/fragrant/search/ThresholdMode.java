@@ -0,0 +1,19 @@
+package fragrant.search;
+
+public enum ThresholdMode {
+    ABOVE,
+    BELOW;
+
+    public static ThresholdMode fromIndex(int thresholdConditionIndex) {
+        return thresholdConditionIndex == 0 ? ABOVE : BELOW;
+    }
+
+    public boolean accepts(double value, double threshold) {
+        return this == ABOVE ? value >= threshold : value <= threshold;
+    }
+
+    /** Same as {@link #accepts(double, double)}, given only the sign of {@code value - threshold}. */
+    public boolean accepts(int comparison) {
+        return this == ABOVE ? comparison >= 0 : comparison <= 0;
+    }
+}
@@ -1,7 +1,6 @@
 package nl.jellejurre.biomesampler;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import nl.jellejurre.biomesampler.minecraft.Biome;
 import nl.jellejurre.biomesampler.minecraft.MultiNoiseUtil;
@@ -9,14 +8,40 @@ import nl.jellejurre.biomesampler.minecraft.VanillaBiomeParameters;
 import nl.kallestruik.noisesampler.minecraft.Dimension;
 import nl.kallestruik.noisesampler.minecraft.util.Pair;
 
+/**
+ * The biome search trees, one per dimension that picks biomes from climate noises. Each tree is built the first
+ * time its dimension is looked up and then shared by every sampler and thread; the trees are immutable, so lookups
+ * need no locking.
+ */
 @SuppressWarnings("ALL")
-public class BiomeEntries {
-    HashMap<Dimension, MultiNoiseUtil.Entries<Biome>> lists = new HashMap<>();
-    public BiomeEntries() {
-        ArrayList<Pair<MultiNoiseUtil.NoiseHypercube, Biome>> list = new ArrayList<>();
-        new VanillaBiomeParameters().writeVanillaBiomeParameters(list::add);
-        lists.put(Dimension.OVERWORLD, new MultiNoiseUtil.Entries(list));
-        lists.put(Dimension.NETHER, new MultiNoiseUtil.Entries(List.of(
+public final class BiomeEntries {
+    private BiomeEntries() {
+    }
+
+    /** The search tree of {@code dimension}; the End has none, its biomes come from the island noise. */
+    public static MultiNoiseUtil.Entries<Biome> get(Dimension dimension) {
+        switch (dimension) {
+            case OVERWORLD:
+                return Overworld.ENTRIES;
+            case NETHER:
+                return Nether.ENTRIES;
+        }
+        throw new IllegalArgumentException("No biome search tree for " + dimension);
+    }
+
+    // Holder classes, so a tree is only built once its dimension is first used.
+    private static final class Overworld {
+        static final MultiNoiseUtil.Entries<Biome> ENTRIES;
+
+        static {
+            ArrayList<Pair<MultiNoiseUtil.NoiseHypercube, Biome>> list = new ArrayList<>();
+            new VanillaBiomeParameters().writeVanillaBiomeParameters(list::add);
+            ENTRIES = new MultiNoiseUtil.Entries(list);
+        }
+    }
+
+    private static final class Nether {
+        static final MultiNoiseUtil.Entries<Biome> ENTRIES = new MultiNoiseUtil.Entries(List.of(
                 new Pair(MultiNoiseUtil.createNoiseHypercube(0.0F, 0.0F, 0.0F, 0.0F, 0.0F, 0.0F, 0.0F),
                         Biome.NETHER_WASTES),
                 new Pair(MultiNoiseUtil.createNoiseHypercube(0.0F, -0.5F, 0.0F, 0.0F, 0.0F, 0.0F, 0.0F),
@@ -26,6 +51,6 @@ public class BiomeEntries {
                 new Pair(MultiNoiseUtil.createNoiseHypercube(0.0F, 0.5F, 0.0F, 0.0F, 0.0F, 0.0F, 0.375F),
                         Biome.WARPED_FOREST),
                 new Pair(MultiNoiseUtil.createNoiseHypercube(-0.5F, 0.0F, 0.0F, 0.0F, 0.0F, 0.0F, 0.175F),
-                        Biome.BASALT_DELTAS))));
+                        Biome.BASALT_DELTAS)));
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,35 @@
 package nl.jellejurre.biomesampler;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import nl.jellejurre.biomesampler.minecraft.Biome;
+import nl.jellejurre.biomesampler.minecraft.FlatSearchTree;
 import nl.jellejurre.biomesampler.minecraft.MathHelper;
+import nl.jellejurre.biomesampler.minecraft.MultiNoiseUtil;
 import nl.kallestruik.noisesampler.NoiseSampler;
+import nl.kallestruik.noisesampler.NoiseType;
 import nl.kallestruik.noisesampler.minecraft.Dimension;
 import nl.kallestruik.noisesampler.minecraft.NoiseColumnSampler;
+import nl.kallestruik.noisesampler.minecraft.NoiseColumnSampler.ColumnValue;
 import nl.kallestruik.noisesampler.minecraft.util.NoiseValuePoint;
 
 public class BiomeSampler {
+    /** Noises biomes are chosen from; End biomes only need the island noise. */
+    private static final Set<NoiseType> CLIMATE_TYPES = EnumSet.of(NoiseType.TEMPERATURE, NoiseType.HUMIDITY,
+            NoiseType.CONTINENTALNESS, NoiseType.EROSION, NoiseType.WEIRDNESS, NoiseType.DEPTH);
+    private static final Set<NoiseType> END_TYPES = EnumSet.of(NoiseType.ISLAND);
+    private static final int BIOME_VALUES = ColumnValue.mask(ColumnValue.TEMPERATURE, ColumnValue.HUMIDITY,
+            ColumnValue.CONTINENTALNESS, ColumnValue.EROSION, ColumnValue.WEIRDNESS, ColumnValue.DEPTH);
+
     long seed;
     NoiseColumnSampler noiseColumnSampler;
     Dimension dimension;
+    /** The dimension's biome tree and lookup state in it; like the noise samplers, not to be shared between threads. */
+    private final MultiNoiseUtil.Entries<Biome> entries;
+    private final FlatSearchTree.Cursor cursor;
+    private final NoiseColumnSampler.SamplePoint point = new NoiseColumnSampler.SamplePoint();
+    private final EndIslandCache islands;
 
     public BiomeSampler(long seed) {
         this(seed, Dimension.OVERWORLD);
@@ -19,7 +38,11 @@ public class BiomeSampler {
     public BiomeSampler(long seed, Dimension dimension) {
         this.seed = seed;
         this.dimension = dimension;
-        this.noiseColumnSampler = new NoiseSampler(seed, dimension).getNoiseColumnSampler();
+        this.noiseColumnSampler = new NoiseSampler(seed, dimension,
+                dimension == Dimension.THEEND ? END_TYPES : CLIMATE_TYPES).getNoiseColumnSampler();
+        this.entries = dimension == Dimension.THEEND ? null : BiomeEntries.get(dimension);
+        this.cursor = this.entries == null ? null : this.entries.newCursor();
+        this.islands = dimension == Dimension.THEEND ? new EndIslandCache(noiseColumnSampler.islandNoise) : null;
     }
 
     public Biome getBiomeFromBlockPos(int x, int y, int z){
@@ -29,9 +52,8 @@ public class BiomeSampler {
     public Biome getBiomeFromBiomePos(int x, int y, int z){
         switch (dimension){
             case OVERWORLD:
-                return getBiomeAtPoint(noiseColumnSampler.sample(x, y, z), dimension);
             case NETHER:
-                return getBiomeAtPoint(noiseColumnSampler.sample(x, y, z), dimension);
+                return sampleBiome(x, y, z);
             case THEEND:
                 return getEndBiome(x, z);
         }
@@ -39,7 +61,67 @@ public class BiomeSampler {
     }
 
     public Biome getBiomeAtPoint(NoiseValuePoint point, Dimension dimension) {
-        return new BiomeEntries().lists.get(dimension).getNoiseValue(point);
+        if (dimension == this.dimension) {
+            return entries.getNoiseValue(point, this.cursor);
+        }
+        return BiomeEntries.get(dimension).getNoiseValue(point);
+    }
+
+    /**
+     * Visits the biome of every biome cell (4x4 blocks) that overlaps the block area, once each and in no particular
+     * order, until the visitor returns false. The y is used as {@link #getBiomeFromBlockPos} uses it.
+     *
+     * @return whether every cell was visited
+     */
+    public boolean forEachBiomeInArea(int minX, int minZ, int maxX, int maxZ, int y, BiomeVisitor visitor) {
+        if (minX > maxX || minZ > maxZ) {
+            return true;
+        }
+        if (dimension == Dimension.THEEND) {
+            return forEachEndBiomeInArea(minX >> 2, minZ >> 2, maxX >> 2, maxZ >> 2, visitor);
+        }
+        for (int x = minX >> 2; x <= maxX >> 2; x++) {
+            for (int z = minZ >> 2; z <= maxZ >> 2; z++) {
+                if (!visitor.visit(x, z, getBiomeFromBiomePos(x, y, z))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Whether {@code biome} is at any block of the area, stopping at the first cell that has it. */
+    public boolean containsBiome(Biome biome, int minX, int minZ, int maxX, int maxZ, int y) {
+        return !forEachBiomeInArea(minX, minZ, maxX, maxZ, y, (x, z, found) -> found != biome);
+    }
+
+    /** Whether {@code biome} is at every block of the area, stopping at the first cell that does not have it. */
+    public boolean containsOnlyBiome(Biome biome, int minX, int minZ, int maxX, int maxZ, int y) {
+        return forEachBiomeInArea(minX, minZ, maxX, maxZ, y, (x, z, found) -> found == biome);
+    }
+
+    /** End biomes are the same over each chunk, so each chunk is computed once and its cells in the area visited. */
+    private boolean forEachEndBiomeInArea(int minX, int minZ, int maxX, int maxZ, BiomeVisitor visitor) {
+        for (int chunkX = minX >> 2; chunkX <= maxX >> 2; chunkX++) {
+            for (int chunkZ = minZ >> 2; chunkZ <= maxZ >> 2; chunkZ++) {
+                Biome biome = getEndBiome(chunkX << 2, chunkZ << 2);
+                for (int x = Math.max(minX, chunkX << 2); x <= Math.min(maxX, (chunkX << 2) + 3); x++) {
+                    for (int z = Math.max(minZ, chunkZ << 2); z <= Math.min(maxZ, (chunkZ << 2) + 3); z++) {
+                        if (!visitor.visit(x, z, biome)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Samples just the noises biomes are chosen from into the reused point, then looks the biome up. */
+    private Biome sampleBiome(int x, int y, int z) {
+        noiseColumnSampler.sample(x, y, z, point, BIOME_VALUES);
+        return entries.getNoiseValue(point.temperatureNoise(), point.humidityNoise(), point.continentalnessNoise(),
+                point.erosionNoise(), point.depth(), point.weirdnessNoise(), cursor);
     }
 
     private float getEndNoiseAt(int x, int z) {
@@ -53,7 +135,7 @@ public class BiomeSampler {
             for (int p = -12; p <= 12; ++p) {
                 long q = k + o;
                 long r = l + p;
-                if (q * q + r * r <= 4096L || !(noiseColumnSampler.islandNoise.sample(q, r) < (double)-0.9F)) continue;
+                if (!islands.isIsland(q, r)) continue;
                 float g = (MathHelper.abs(q) * 3439.0F + MathHelper.abs(r) * 147.0F) % 13.0F + 9.0F;
                 float h = m - o * 2;
                 float s = n - p * 2;
@@ -84,4 +166,10 @@ public class BiomeSampler {
             return Biome.END_BARRENS;
         }
     }
+
+    @FunctionalInterface
+    public interface BiomeVisitor {
+        /** Called with the biome cell coordinates and its biome; returns whether to go on. */
+        boolean visit(int x, int z, Biome biome);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package nl.jellejurre.biomesampler;
+
+import java.util.Arrays;
+import nl.kallestruik.noisesampler.minecraft.noise.SimplexNoiseSampler;
+
+/**
+ * Remembers which cells of the End island lattice hold an island, so neighbouring End biome lookups, which scan
+ * almost the same 25x25 cells, sample the island noise once per cell. Cells are kept in 32x32 tiles of bits, filled
+ * in as they are asked for, in an open addressing table keyed by the packed tile coordinates. The table is dropped
+ * once it holds {@link #MAX_TILES} tiles, which bounds its memory on very large queries.
+ */
+final class EndIslandCache {
+    private static final int TILE_BITS = 5;
+    private static final int TILE_MASK = (1 << TILE_BITS) - 1;
+    /** Words per tile: the bits of the cells already sampled, then the bits of those that hold an island. */
+    private static final int WORDS = (1 << 2 * TILE_BITS) / Long.SIZE;
+    private static final int MAX_TILES = 1 << 12;
+
+    private final SimplexNoiseSampler islandNoise;
+    private long[] keys = new long[16];
+    private long[][] tiles = new long[16][];
+    private int size;
+    private long lastKey;
+    private long[] lastTile;
+
+    EndIslandCache(SimplexNoiseSampler islandNoise) {
+        this.islandNoise = islandNoise;
+    }
+
+    /** Whether an island is centred on lattice cell {@code x, z}; there are none near the main island. */
+    boolean isIsland(long x, long z) {
+        if (x * x + z * z <= 4096L) {
+            return false;
+        }
+        long[] tile = tile(x >> TILE_BITS, z >> TILE_BITS);
+        int cell = (int)(x & TILE_MASK) << TILE_BITS | (int)(z & TILE_MASK);
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if ((tile[word] & bit) == 0) {
+            tile[word] |= bit;
+            if (islandNoise.sample(x, z) < (double)-0.9F) {
+                tile[WORDS + word] |= bit;
+            }
+        }
+        return (tile[WORDS + word] & bit) != 0;
+    }
+
+    private long[] tile(long tileX, long tileZ) {
+        long key = tileX << 32 | tileZ & 0xFFFFFFFFL;
+        if (lastTile != null && key == lastKey) {
+            return lastTile;
+        }
+        int slot = find(key);
+        if (tiles[slot] == null) {
+            if (size >= MAX_TILES) {
+                clear();
+            } else if (size >= keys.length >> 1) {
+                grow();
+            }
+            slot = find(key);
+            keys[slot] = key;
+            tiles[slot] = new long[2 * WORDS];
+            size++;
+        }
+        lastKey = key;
+        lastTile = tiles[slot];
+        return lastTile;
+    }
+
+    /** The slot holding {@code key}, or the empty slot it would go in. */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (tiles[slot] != null && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[][] oldTiles = tiles;
+        keys = new long[oldKeys.length << 1];
+        tiles = new long[oldTiles.length << 1][];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldTiles[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                tiles[slot] = oldTiles[i];
+            }
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(tiles, null);
+        size = 0;
+        lastTile = null;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ h >>> 32);
+    }
+}
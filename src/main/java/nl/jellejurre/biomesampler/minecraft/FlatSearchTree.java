@@ -0,0 +1,210 @@
+package nl.jellejurre.biomesampler.minecraft;
+
+import nl.kallestruik.noisesampler.minecraft.util.NoiseValuePoint;
+
+/**
+ * A {@link MultiNoiseUtil.SearchTree} flattened into arrays. The children of a node get consecutive indices, and the
+ * bounds of all nodes sit in one {@code long[]} where each group of siblings has a block of its own, laid out as
+ * struct of arrays: per parameter a run of minima and a run of maxima. A lookup walks these arrays with an explicit
+ * stack instead of following node objects through a distance function.
+ * <p>
+ * Lookups return what a search from scratch in the {@link MultiNoiseUtil.SearchTree} returns: the nearest leaf, and
+ * among equally near leaves the one the search reaches first. The previous result kept in a {@link Cursor} only
+ * bounds the search, it never wins a tie, so a point's biome does not depend on what was looked up before it.
+ */
+public final class FlatSearchTree<T> {
+    private static final int PARAMETERS = 7;
+
+    /**
+     * Per group of siblings starting at node {@code first}: a block at {@code 2 * PARAMETERS * first}, laid out as
+     * [parameter][min, max][sibling].
+     */
+    private final long[] bounds;
+    /** Per node: where its minimum of the first parameter is, and the number of siblings it is grouped with. */
+    private final int[] boundIndices;
+    private final int[] groupSizes;
+    /** Per node: index of its first child and its number of children, which is 0 for a leaf. */
+    private final int[] firstChildren;
+    private final int[] childCounts;
+    /** Per node: the search order rank of the first leaf below it; for a leaf, its own rank. */
+    private final int[] firstLeaves;
+    /** Per leaf rank: its value. */
+    private final Object[] values;
+    private final int stackSize;
+
+    private FlatSearchTree(MultiNoiseUtil.SearchTree.TreeNode<T> root) {
+        int[] counts = new int[2];
+        count(root, counts);
+        int nodeCount = counts[0];
+        this.bounds = new long[2 * PARAMETERS * nodeCount];
+        this.boundIndices = new int[nodeCount];
+        this.groupSizes = new int[nodeCount];
+        this.firstChildren = new int[nodeCount];
+        this.childCounts = new int[nodeCount];
+        this.firstLeaves = new int[nodeCount];
+        this.values = new Object[counts[1]];
+        Builder builder = new Builder();
+        builder.setBounds(root, 0, 0, 1);
+        this.stackSize = builder.place(root, 0);
+    }
+
+    static <T> FlatSearchTree<T> of(MultiNoiseUtil.SearchTree.TreeNode<T> root) {
+        return new FlatSearchTree<>(root);
+    }
+
+    /** A cursor for lookups in this tree; it may only be used by one thread at a time. */
+    public Cursor newCursor() {
+        return new Cursor(this);
+    }
+
+    public T get(NoiseValuePoint point, Cursor cursor) {
+        return this.get(point.temperatureNoise(), point.humidityNoise(), point.continentalnessNoise(),
+                point.erosionNoise(), point.depth(), point.weirdnessNoise(), cursor);
+    }
+
+    /** Same as {@link #get(NoiseValuePoint, Cursor)} for the point with these quantized values. */
+    @SuppressWarnings("unchecked")
+    public T get(long temperature, long humidity, long continentalness, long erosion, long depth, long weirdness,
+                 Cursor cursor) {
+        if (cursor.tree != this) {
+            throw new IllegalArgumentException("Cursor belongs to another tree");
+        }
+        long[] target = cursor.point;
+        target[0] = temperature;
+        target[1] = humidity;
+        target[2] = continentalness;
+        target[3] = erosion;
+        target[4] = depth;
+        target[5] = weirdness;
+        target[6] = 0L;
+
+        if (this.childCounts[0] == 0) {
+            return (T) this.values[0];
+        }
+        int best = cursor.previous;
+        long bestDistance = best < 0 ? Long.MAX_VALUE
+                : this.distance(this.boundIndices[best], this.groupSizes[best], target);
+        int bestRank = best < 0 ? Integer.MAX_VALUE : this.firstLeaves[best];
+        int[] stack = cursor.stack;
+        long[] distances = cursor.distances;
+        // Only branches go on the stack; the root is always searched, so its distance is never needed.
+        stack[0] = 0;
+        distances[0] = 0L;
+        int size = 1;
+        while (size > 0) {
+            int node = stack[--size];
+            if (isBeaten(distances[size], this.firstLeaves[node], bestDistance, bestRank)) {
+                continue;
+            }
+            int first = this.firstChildren[node];
+            int count = this.childCounts[node];
+            int index = 2 * PARAMETERS * first;
+            // Last to first, so the branches pushed come off the stack in order.
+            for (int j = count - 1; j >= 0; j--) {
+                int child = first + j;
+                long distance = this.distance(index + j, count, target);
+                int rank = this.firstLeaves[child];
+                if (isBeaten(distance, rank, bestDistance, bestRank)) {
+                    continue;
+                }
+                if (this.childCounts[child] == 0) {
+                    best = child;
+                    bestDistance = distance;
+                    bestRank = rank;
+                } else {
+                    stack[size] = child;
+                    distances[size++] = distance;
+                }
+            }
+        }
+        cursor.previous = best;
+        return (T) this.values[bestRank];
+    }
+
+    /**
+     * Whether nothing at or below a node can beat the best leaf so far: be nearer, or be as near and come earlier in
+     * the order the search tree visits its leaves in. Leaves are only ever compared this way, so the order they are
+     * reached in here does not matter.
+     */
+    private static boolean isBeaten(long distance, int firstLeaf, long bestDistance, int bestRank) {
+        return distance > bestDistance || distance == bestDistance && firstLeaf > bestRank;
+    }
+
+    /** Squared distance to the node whose bounds start at {@code index}, grouped with {@code stride} siblings. */
+    private long distance(int index, int stride, long[] target) {
+        long total = 0L;
+        for (int i = 0; i < PARAMETERS; i++) {
+            long above = target[i] - this.bounds[index + stride];
+            long below = this.bounds[index] - target[i];
+            long distance = above > 0L ? above : Math.max(below, 0L);
+            total += distance * distance;
+            index += 2 * stride;
+        }
+        return total;
+    }
+
+    private static void count(MultiNoiseUtil.SearchTree.TreeNode<?> node, int[] counts) {
+        counts[0]++;
+        if (node instanceof MultiNoiseUtil.SearchTree.TreeBranchNode<?> branch) {
+            for (MultiNoiseUtil.SearchTree.TreeNode<?> child : branch.subTree) {
+                count(child, counts);
+            }
+        } else {
+            counts[1]++;
+        }
+    }
+
+    /** Holds the previous result of a lookup and the scratch space lookups need. */
+    public static final class Cursor {
+        private final FlatSearchTree<?> tree;
+        private final long[] point = new long[PARAMETERS];
+        private final int[] stack;
+        private final long[] distances;
+        private int previous = -1;
+
+        private Cursor(FlatSearchTree<?> tree) {
+            this.tree = tree;
+            this.stack = new int[tree.stackSize];
+            this.distances = new long[tree.stackSize];
+        }
+    }
+
+    private final class Builder {
+        private int nextNode = 1;
+        private int nextLeaf;
+
+        /** Stores the bounds of {@code node}, sibling {@code sibling} of the {@code count} from node {@code first}. */
+        void setBounds(MultiNoiseUtil.SearchTree.TreeNode<T> node, int first, int sibling, int count) {
+            int index = 2 * PARAMETERS * first + sibling;
+            boundIndices[first + sibling] = index;
+            groupSizes[first + sibling] = count;
+            for (int i = 0; i < PARAMETERS; i++) {
+                bounds[index] = node.parameters[i].min();
+                bounds[index + count] = node.parameters[i].max();
+                index += 2 * count;
+            }
+        }
+
+        /** Places {@code node} and everything below it, returning an upper bound on the stack a search of it needs. */
+        int place(MultiNoiseUtil.SearchTree.TreeNode<T> node, int index) {
+            firstLeaves[index] = this.nextLeaf;
+            if (!(node instanceof MultiNoiseUtil.SearchTree.TreeBranchNode<T> branch)) {
+                values[this.nextLeaf++] = ((MultiNoiseUtil.SearchTree.TreeLeafNode<T>) node).value;
+                return 1;
+            }
+            int first = this.nextNode;
+            int count = branch.subTree.length;
+            this.nextNode += count;
+            firstChildren[index] = first;
+            childCounts[index] = count;
+            for (int i = 0; i < count; i++) {
+                this.setBounds(branch.subTree[i], first, i, count);
+            }
+            int deepest = 0;
+            for (int i = 0; i < count; i++) {
+                deepest = Math.max(deepest, this.place(branch.subTree[i], first + i));
+            }
+            return count + deepest;
+        }
+    }
+}
@@ -75,15 +75,35 @@ public class MultiNoiseUtil {
 
     public static class Entries<T> {
         private final SearchTree<T> tree;
+        private final FlatSearchTree<T> index;
 
         public Entries(List<Pair<NoiseHypercube, T>> entries) {
             this.tree = SearchTree.create(entries);
+            this.index = this.tree.flatten();
         }
 
         public T getNoiseValue(NoiseValuePoint noiseValuePoint) {
             return this.getNoiseValueWithDistance(noiseValuePoint, SearchTree.TreeNode::getSquaredDistance);
         }
 
+        /**
+         * Same value as {@link #getNoiseValue(NoiseValuePoint)}, looked up in the flattened tree; callers doing many
+         * lookups keep a cursor from {@link #newCursor()} so that nothing is allocated per lookup.
+         */
+        public T getNoiseValue(NoiseValuePoint noiseValuePoint, FlatSearchTree.Cursor cursor) {
+            return this.index.get(noiseValuePoint, cursor);
+        }
+
+        /** Same as {@link #getNoiseValue(NoiseValuePoint, FlatSearchTree.Cursor)}, given the point's values. */
+        public T getNoiseValue(long temperature, long humidity, long continentalness, long erosion, long depth,
+                               long weirdness, FlatSearchTree.Cursor cursor) {
+            return this.index.get(temperature, humidity, continentalness, erosion, depth, weirdness, cursor);
+        }
+
+        public FlatSearchTree.Cursor newCursor() {
+            return this.index.newCursor();
+        }
+
         protected T getNoiseValueWithDistance(NoiseValuePoint noiseValuePoint, NodeDistanceFunction<T> nodeDistanceFunction) {
             return this.tree.get(noiseValuePoint, nodeDistanceFunction);
         }
@@ -91,12 +111,15 @@ public class MultiNoiseUtil {
 
     protected static final class SearchTree<T> {
         private final TreeNode<T> firstNode;
-        private final ThreadLocal<TreeLeafNode<T>> previousResultNode = new ThreadLocal();
 
         private SearchTree(TreeNode<T> firstNode) {
             this.firstNode = firstNode;
         }
 
+        FlatSearchTree<T> flatten() {
+            return FlatSearchTree.of(this.firstNode);
+        }
+
         public static <T> SearchTree<T> create(List<Pair<NoiseHypercube, T>> entries) {
             if (entries.isEmpty()) {
                 throw new IllegalArgumentException("Need at least one value to build the search tree.");
@@ -208,11 +231,14 @@ public class MultiNoiseUtil {
             }
         }
 
+        /*
+         * Vanilla starts each search from the previous result of the thread, which wins ties in distance. The tree is
+         * shared by every sampler, so that would make a lookup depend on whatever was looked up before it; searching
+         * from scratch keeps every point's biome fixed.
+         */
         public T get(NoiseValuePoint point, NodeDistanceFunction<T> distanceFunction) {
             long[] ls = new long[]{point.temperatureNoise(), point.humidityNoise(), point.continentalnessNoise(), point.erosionNoise(), point.depth(), point.weirdnessNoise(), 0L};
-            TreeLeafNode<T> treeLeafNode = this.firstNode.getResultingNode(ls, this.previousResultNode.get(), distanceFunction);
-            this.previousResultNode.set(treeLeafNode);
-            return treeLeafNode.value;
+            return this.firstNode.getResultingNode(ls, null, distanceFunction).value;
         }
 
         abstract static class TreeNode<T> {
@@ -237,7 +263,7 @@ public class MultiNoiseUtil {
             }
         }
 
-        private static final class TreeBranchNode<T> extends TreeNode<T> {
+        static final class TreeBranchNode<T> extends TreeNode<T> {
             final TreeNode<T>[] subTree;
 
             private TreeBranchNode(List<? extends TreeNode<T>> list) {
@@ -267,7 +293,7 @@ public class MultiNoiseUtil {
             }
         }
 
-        private static final class TreeLeafNode<T> extends TreeNode<T> {
+        static final class TreeLeafNode<T> extends TreeNode<T> {
             final T value;
 
             TreeLeafNode(NoiseHypercube parameters, T value) {
@@ -1,7 +1,9 @@
 package nl.kallestruik.noisesampler;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import nl.kallestruik.noisesampler.minecraft.Dimension;
 import nl.kallestruik.noisesampler.minecraft.util.NoiseSamplingConfig;
 import nl.kallestruik.noisesampler.minecraft.util.NoiseValuePoint;
@@ -36,18 +38,37 @@ public class NoiseSampler {
         VanillaTerrainParameters.createEndParameters());
 
 
+    /**
+     * Climate values are the noise truncated to four decimals through float, so they lie within 1e-4 plus float
+     * rounding of the raw noise; a raw value further than this from a threshold is on the same side once quantized.
+     */
+    private static final double QUANTIZATION_MARGIN = 2.0E-4;
+    /**
+     * Absolute slack on variation bounds for rounding: noise values are of order one and the coordinates they are
+     * computed from stay below 2^24, so computed values are within about 1e-8 of the exact function.
+     */
+    private static final double ROUNDING_TOLERANCE = 1.0E-6;
+
     private NoiseColumnSampler noiseColumnSampler;
 
     public NoiseSampler(long seed, Dimension dimension) {
+        this(seed, dimension, EnumSet.allOf(NoiseType.class));
+    }
+
+    /**
+     * Builds only the noises {@code types} are computed from, which is much cheaper per seed when a search only
+     * needs a few of them. Querying any other type throws an {@link IllegalStateException}.
+     */
+    public NoiseSampler(long seed, Dimension dimension, Set<NoiseType> types) {
         switch(dimension){
             case OVERWORLD:
-                noiseColumnSampler = new NoiseColumnSampler(overworldConfig, seed, dimension);
+                noiseColumnSampler = new NoiseColumnSampler(overworldConfig, seed, dimension, types);
                 break;
             case NETHER:
-                noiseColumnSampler = new NoiseColumnSampler(netherConfig, seed, dimension);
+                noiseColumnSampler = new NoiseColumnSampler(netherConfig, seed, dimension, types);
                 break;
             case THEEND:
-                noiseColumnSampler = new NoiseColumnSampler(endConfig, seed, dimension);
+                noiseColumnSampler = new NoiseColumnSampler(endConfig, seed, dimension, types);
         }
     }
 
@@ -56,41 +77,271 @@ public class NoiseSampler {
     }
 
     public Map<NoiseType, Double> queryNoise(int x, int y, int z, NoiseType... noiseTypes) {
-        NoiseValuePoint noiseValuePoint = noiseColumnSampler.sample(x, y, z);
-        TerrainNoisePoint terrainNoisePoint = noiseColumnSampler.createTerrainNoisePoint(
-                noiseValuePoint.continentalnessNoise() / 10000.0f,
-                noiseValuePoint.weirdnessNoise() / 10000.0f,
-                noiseValuePoint.erosionNoise() / 10000.0f
-        );
+        NoiseColumnSampler.SamplePoint point = noiseColumnSampler.samplePoint(x, y, z, columnDependencies(noiseTypes));
 
         Map<NoiseType, Double> noises = new HashMap<>();
         for (NoiseType noiseType : noiseTypes) {
-            noises.put(noiseType, sampleNoise(noiseValuePoint, terrainNoisePoint, noiseType, x, y, z));
+            noises.put(noiseType, sampleNoise(point, noiseType, x, y, z));
         }
 
         return noises;
     }
 
-        public double sampleNoise(NoiseValuePoint noiseValuePoint, TerrainNoisePoint terrainNoisePoint, NoiseType type, int x, int y, int z) {
+    /** Same value as {@code queryNoise(x, y, z, type).get(type)}, without allocating. */
+    public double sample(NoiseType type, int x, int y, int z) {
+        int dependencies = type.columnDependencies();
+        if (dependencies == 0) {
+            return sampleColumnIndependentNoise(type, x, y, z);
+        }
+        return sampleNoise(noiseColumnSampler.samplePoint(x, y, z, dependencies), type, x, y, z);
+    }
+
+    /** Writes the value of {@code types[i]} to {@code out[i]}, sharing one column sample and allocating nothing. */
+    public void sample(NoiseType[] types, int x, int y, int z, double[] out) {
+        NoiseColumnSampler.SamplePoint point = noiseColumnSampler.samplePoint(x, y, z, columnDependencies(types));
+        for (int i = 0; i < types.length; i++) {
+            out[i] = sampleNoise(point, types[i], x, y, z);
+        }
+    }
+
+    /**
+     * Samples {@code type} over the inclusive box into {@code out}, at index
+     * {@code ((x - minX) * sizeY + (y - minY)) * sizeZ + (z - minZ)}.
+     */
+    public void sampleBox(NoiseType type, int minX, int maxX, int minY, int maxY, int minZ, int maxZ, double[] out) {
+        int sizeY = maxY - minY + 1;
+        int sizeZ = maxZ - minZ + 1;
+        long size = (long) (maxX - minX + 1) * sizeY * sizeZ;
+        if (out.length < size) {
+            throw new IllegalArgumentException("Output holds " + out.length + " values, box has " + size);
+        }
+        forEachInBox(type, minX, maxX, minY, maxY, minZ, maxZ, (x, y, z, value) -> {
+            out[((x - minX) * sizeY + (y - minY)) * sizeZ + (z - minZ)] = value;
+            return true;
+        });
+    }
+
+    /**
+     * Streams {@code type} over the inclusive box, column by column: x, then z, then y. Values derived from the
+     * column (climate, shape and terrain noises) are computed once per (x, z) and only depth is redone per y.
+     * Stops as soon as the visitor returns false.
+     *
+     * @return true if every point was visited, false if the visitor stopped early
+     */
+    public boolean forEachInBox(NoiseType type, int minX, int maxX, int minY, int maxY, int minZ, int maxZ, NoiseVisitor visitor) {
+        int dependencies = type.columnDependencies();
+        if (dependencies == 0) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        if (!visitor.visit(x, y, z, sampleColumnIndependentNoise(type, x, y, z))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        // Not the thread's scratch point: the visitor may sample this thread's samplers itself.
+        NoiseColumnSampler.SamplePoint point = new NoiseColumnSampler.SamplePoint();
+        boolean variesWithY = (dependencies & NoiseColumnSampler.ColumnValue.DEPTH.bit) != 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                noiseColumnSampler.sampleColumn(x, z, point, dependencies);
+                double value = variesWithY ? 0 : sampleNoise(point, type, x, minY, z);
+                for (int y = minY; y <= maxY; y++) {
+                    if (variesWithY) {
+                        noiseColumnSampler.sampleDepth(y, point);
+                        value = sampleNoise(point, type, x, y, z);
+                    }
+                    if (!visitor.visit(x, y, z, value)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sign of {@code sample(type, x, y, z) - threshold}, 0 when equal. Climate, jagged and plain octave noises only
+     * evaluate the octaves needed to tell the side; other types are sampled in full.
+     */
+    public int sampleAgainst(NoiseType type, int x, int y, int z, double threshold) {
+        int dependencies = type.columnDependencies();
+        nl.kallestruik.noisesampler.minecraft.noise.NoiseSampler direct = dependencies == 0 ? directNoise(type) : null;
+        if (direct != null) {
+            return direct.sampleAgainst(x, y, z, threshold, 0.0);
+        }
+        NoiseColumnSampler.ColumnValue climate = climateValue(type);
+        if (climate != null || type == NoiseType.JAGGED) {
+            // Nothing requested: just the thread's scratch point, for the column values compareColumn may need.
+            return compareColumn(type, climate, x, z, threshold, noiseColumnSampler.samplePoint(x, y, z, 0));
+        }
+        return compare(sample(type, x, y, z), threshold);
+    }
+
+    /**
+     * Like {@link #forEachInBox(NoiseType, int, int, int, int, int, int, NoiseVisitor)}, but hands the visitor only
+     * the side of {@code threshold} each value is on, which lets octave noises stop summing early.
+     *
+     * @return true if every point was visited, false if the visitor stopped early
+     */
+    public boolean forEachInBox(NoiseType type, int minX, int maxX, int minY, int maxY, int minZ, int maxZ,
+                                double threshold, ComparisonVisitor visitor) {
+        int dependencies = type.columnDependencies();
+        NoiseColumnSampler.ColumnValue climate = climateValue(type);
+        if (dependencies == 0) {
+            nl.kallestruik.noisesampler.minecraft.noise.NoiseSampler direct = directNoise(type);
+            if (direct != null) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            if (!visitor.visit(x, y, z, direct.sampleAgainst(x, y, z, threshold, 0.0))) {
+                                return false;
+                            }
+                        }
+                    }
+                }
+                return true;
+            }
+        } else if (climate != null || type == NoiseType.JAGGED) {
+            NoiseColumnSampler.SamplePoint point = new NoiseColumnSampler.SamplePoint();
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    int comparison = compareColumn(type, climate, x, z, threshold, point);
+                    for (int y = minY; y <= maxY; y++) {
+                        if (!visitor.visit(x, y, z, comparison)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+        return forEachInBox(type, minX, maxX, minY, maxY, minZ, maxZ,
+                (x, y, z, value) -> visitor.visit(x, y, z, compare(value, threshold)));
+    }
+
+    /** Side of the threshold for a climate type, or jagged when {@code climate} is null; both only vary per column. */
+    private int compareColumn(NoiseType type, NoiseColumnSampler.ColumnValue climate, int x, int z, double threshold,
+                              NoiseColumnSampler.SamplePoint point) {
+        if (climate == null) {
+            noiseColumnSampler.sampleColumn(x, z, point, type.columnDependencies());
+            return noiseColumnSampler.compareJaggedNoise(point.peaks(), x, z, threshold);
+        }
+        int comparison = noiseColumnSampler.compareClimate(climate, x, z, threshold, QUANTIZATION_MARGIN);
+        if (comparison != 0) {
+            return comparison;
+        }
+        noiseColumnSampler.sampleColumn(x, z, point, type.columnDependencies());
+        return compare(sampleNoise(point, type, x, 0, z), threshold);
+    }
+
+    /**
+     * Bound on how much {@code type} can differ between two points of the inclusive box, from the octave
+     * frequencies and amplitudes of the noises behind it; null when no bound is known for the type or the box
+     * reaches coordinates where the noise wraps for precision.
+     */
+    public VariationBound variationBound(NoiseType type, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        double range = Math.max(Math.max(Math.max(Math.abs((double) minX), Math.abs((double) maxX)),
+                        Math.max(Math.abs((double) minY), Math.abs((double) maxY))),
+                Math.max(Math.abs((double) minZ), Math.abs((double) maxZ)));
+        NoiseColumnSampler.ColumnValue climate = climateValue(type);
+        if (climate != null) {
+            if (!Double.isFinite(noiseColumnSampler.climateVariation(climate, 1.0, range))) {
+                return null;
+            }
+            return (dx, dy, dz) -> noiseColumnSampler.climateVariation(climate, dx + dz, range)
+                    + 2.0 * QUANTIZATION_MARGIN + ROUNDING_TOLERANCE;
+        }
+        nl.kallestruik.noisesampler.minecraft.noise.NoiseSampler direct = type.columnDependencies() == 0 ? directNoise(type) : null;
+        if (direct == null || !Double.isFinite(direct.maxVariation(1.0, range))) {
+            return null;
+        }
+        return (dx, dy, dz) -> direct.maxVariation(dx + dy + dz, range) + ROUNDING_TOLERANCE;
+    }
+
+    private static int compare(double value, double threshold) {
+        return value > threshold ? 1 : value < threshold ? -1 : 0;
+    }
+
+    private static NoiseColumnSampler.ColumnValue climateValue(NoiseType type) {
+        return switch (type) {
+            case TEMPERATURE -> NoiseColumnSampler.ColumnValue.TEMPERATURE;
+            case HUMIDITY -> NoiseColumnSampler.ColumnValue.HUMIDITY;
+            case CONTINENTALNESS -> NoiseColumnSampler.ColumnValue.CONTINENTALNESS;
+            case EROSION -> NoiseColumnSampler.ColumnValue.EROSION;
+            case WEIRDNESS -> NoiseColumnSampler.ColumnValue.WEIRDNESS;
+            default -> null;
+        };
+    }
+
+    /** The noise behind types that are a plain sample at the query coordinates, or null. */
+    private nl.kallestruik.noisesampler.minecraft.noise.NoiseSampler directNoise(NoiseType type) {
+        return switch (type) {
+            case AQUIFER_BARRIER -> noiseColumnSampler.aquiferBarrierNoise;
+            case AQUIFER_FLUID_LEVEL_FLOODEDNESS -> noiseColumnSampler.aquiferFluidLevelFloodednessNoise;
+            case AQUIFER_FLUID_LEVEL_SPREAD -> noiseColumnSampler.aquiferFluidLevelSpreadNoise;
+            case AQUIFER_LAVA -> noiseColumnSampler.aquiferLavaNoise;
+            case ORE_GAP -> noiseColumnSampler.oreGapNoise;
+            default -> null;
+        };
+    }
+
+    private static int columnDependencies(NoiseType[] types) {
+        int dependencies = 0;
+        for (NoiseType type : types) {
+            dependencies |= type.columnDependencies();
+        }
+        return dependencies;
+    }
+
+    private double sampleNoise(NoiseColumnSampler.SamplePoint point, NoiseType type, int x, int y, int z) {
         switch (type) {
             case TEMPERATURE -> {
-                return (float)noiseValuePoint.temperatureNoise() / 10000.0f;
+                return (float)point.temperatureNoise() / 10000.0f;
             }
             case HUMIDITY -> {
-                return (float)noiseValuePoint.humidityNoise() / 10000.0f;
+                return (float)point.humidityNoise() / 10000.0f;
             }
             case CONTINENTALNESS -> {
-                return (float)noiseValuePoint.continentalnessNoise() / 10000.0f;
+                return (float)point.continentalnessNoise() / 10000.0f;
             }
             case EROSION -> {
-                return (float)noiseValuePoint.erosionNoise() / 10000.0f;
+                return (float)point.erosionNoise() / 10000.0f;
             }
             case WEIRDNESS -> {
-                return (float)noiseValuePoint.weirdnessNoise() / 10000.0f;
+                return (float)point.weirdnessNoise() / 10000.0f;
             }
             case DEPTH -> {
-                return (float)noiseValuePoint.depth() / 10000.0f;
+                return (float)point.depth() / 10000.0f;
+            }
+            case JAGGED -> {
+                return noiseColumnSampler.sampleJaggedNoise(point.peaks(), x, z);
+            }
+            case TERRAIN_PEAKS -> {
+                return point.peaks();
             }
+            case TERRAIN_OFFSET -> {
+                return point.offset();
+            }
+            case TERRAIN_FACTOR -> {
+                return point.factor();
+            }
+            default -> {
+                return sampleColumnIndependentNoise(type, x, y, z);
+            }
+        }
+    }
+
+    public double sampleNoise(NoiseValuePoint noiseValuePoint, TerrainNoisePoint terrainNoisePoint, NoiseType type, int x, int y, int z) {
+        return sampleNoise(NoiseColumnSampler.SamplePoint.of(noiseValuePoint, terrainNoisePoint), type, x, y, z);
+    }
+
+    private double sampleColumnIndependentNoise(NoiseType type, int x, int y, int z) {
+        switch (type) {
             case SHIFT_X -> {
                 return x + noiseColumnSampler.sampleShiftNoise(x, 0, z);
             }
@@ -101,13 +352,19 @@ public class NoiseSampler {
                 return z + noiseColumnSampler.sampleShiftNoise(z, x, 0);
             }
             case TERRAIN -> {
+                if (noiseColumnSampler.terrainNoise == null) {
+                    throw notBuilt(type);
+                }
                 return noiseColumnSampler.terrainNoise.calculateNoise(x, y, z);
             }
             case ISLAND -> {
-                return noiseColumnSampler.islandNoise == null ? 0 : noiseColumnSampler.islandNoise.sample(x, y, z);
-            }
-            case JAGGED -> {
-                return noiseColumnSampler.sampleJaggedNoise(terrainNoisePoint.peaks(), x, z);
+                if (noiseColumnSampler.islandNoise == null) {
+                    if (noiseColumnSampler.config.islandNoiseOverride()) {
+                        throw notBuilt(type);
+                    }
+                    return 0;
+                }
+                return noiseColumnSampler.islandNoise.sample(x, y, z);
             }
             case AQUIFER_BARRIER -> {
                 return noiseColumnSampler.aquiferBarrierNoise.sample(x, y, z);
@@ -190,15 +447,6 @@ public class NoiseSampler {
                         Util.toBlock(z)
                 );
             }
-            case TERRAIN_PEAKS -> {
-                return terrainNoisePoint.peaks();
-            }
-            case TERRAIN_OFFSET -> {
-                return terrainNoisePoint.offset();
-            }
-            case TERRAIN_FACTOR -> {
-                return terrainNoisePoint.factor();
-            }
             case ORE_GAP -> {
                 return noiseColumnSampler.oreGapNoise.sample(x, y, z);
             }
@@ -206,7 +454,32 @@ public class NoiseSampler {
         }
     }
 
+    private static IllegalStateException notBuilt(NoiseType type) {
+        return new IllegalStateException(type + " was not among the noise types this sampler was built for");
+    }
+
     public NoiseColumnSampler getNoiseColumnSampler() {
         return noiseColumnSampler;
     }
+
+    @FunctionalInterface
+    public interface NoiseVisitor {
+        /** @return false to stop visiting */
+        boolean visit(int x, int y, int z, double value);
+    }
+
+    @FunctionalInterface
+    public interface VariationBound {
+        /** Bound on how much the values of two points of the box differ when they are dx, dy and dz apart. */
+        double over(int dx, int dy, int dz);
+    }
+
+    @FunctionalInterface
+    public interface ComparisonVisitor {
+        /**
+         * @param comparison sign of the value minus the threshold, 0 when equal
+         * @return false to stop visiting
+         */
+        boolean visit(int x, int y, int z, int comparison);
+    }
 }
@@ -1,18 +1,24 @@
 package nl.kallestruik.noisesampler;
 
+import nl.kallestruik.noisesampler.minecraft.NoiseColumnSampler.ColumnValue;
+
+/**
+ * Each type declares the column values it is derived from, so a query only computes those; types without any
+ * are a direct sample of their own noise.
+ */
 public enum NoiseType {
-    TEMPERATURE,
-    HUMIDITY,
-    CONTINENTALNESS,
-    EROSION,
-    WEIRDNESS,
-    DEPTH,
+    TEMPERATURE(ColumnValue.TEMPERATURE),
+    HUMIDITY(ColumnValue.HUMIDITY),
+    CONTINENTALNESS(ColumnValue.CONTINENTALNESS),
+    EROSION(ColumnValue.EROSION),
+    WEIRDNESS(ColumnValue.WEIRDNESS),
+    DEPTH(ColumnValue.DEPTH),
     SHIFT_X,
     SHIFT_Y,
     SHIFT_Z,
     TERRAIN,
     ISLAND,
-    JAGGED,
+    JAGGED(ColumnValue.PEAKS),
     AQUIFER_BARRIER,
     AQUIFER_FLUID_LEVEL_FLOODEDNESS,
     AQUIFER_FLUID_LEVEL_SPREAD,
@@ -34,8 +40,19 @@ public enum NoiseType {
     CAVE_ENTRANCE,
     CAVE_LAYER,
     CAVE_CHEESE,
-    TERRAIN_PEAKS,
-    TERRAIN_OFFSET,
-    TERRAIN_FACTOR,
-    ORE_GAP,
+    TERRAIN_PEAKS(ColumnValue.PEAKS),
+    TERRAIN_OFFSET(ColumnValue.OFFSET),
+    TERRAIN_FACTOR(ColumnValue.FACTOR),
+    ORE_GAP;
+
+    private final int columnDependencies;
+
+    NoiseType(ColumnValue... columnDependencies) {
+        this.columnDependencies = ColumnValue.mask(columnDependencies);
+    }
+
+    /** Mask of the {@link ColumnValue}s this type reads; zero if it needs none of them. */
+    public int columnDependencies() {
+        return columnDependencies;
+    }
 }
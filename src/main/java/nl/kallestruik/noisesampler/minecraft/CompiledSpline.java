@@ -0,0 +1,187 @@
+package nl.kallestruik.noisesampler.minecraft;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import nl.kallestruik.noisesampler.minecraft.util.MathHelper;
+
+/**
+ * A terrain spline tree flattened into primitive arrays. Every {@link Spline.SplineImpl} becomes a node whose points
+ * sit next to each other in the point arrays; a point either holds a constant value or links to the node of its
+ * child spline by index, and subtrees shared in the tree are compiled once. Evaluation does the same float
+ * operations in the same order as {@link Spline.SplineImpl#apply}, so results are identical, without boxing,
+ * lambdas or allocation.
+ */
+final class CompiledSpline implements Spline<VanillaTerrainParameters.NoisePoint> {
+    private static final int NO_CHILD = -1;
+
+    /** Per node: the {@link VanillaTerrainParameters.LocationFunction} ordinal it is located by. */
+    private final int[] coordinates;
+    /** Per node: index of its first point and its number of points. */
+    private final int[] firsts;
+    private final int[] counts;
+    private final float[] locations;
+    private final float[] derivatives;
+    /** Per point: the constant value, used when {@code children} holds {@link #NO_CHILD}. */
+    private final float[] values;
+    private final int[] children;
+    /** Value of a spline that is a constant as a whole; it then has no nodes. */
+    private final float constant;
+
+    private CompiledSpline(Builder builder, float constant) {
+        this.coordinates = builder.coordinates.stream().mapToInt(Integer::intValue).toArray();
+        this.firsts = builder.firsts.stream().mapToInt(Integer::intValue).toArray();
+        this.counts = builder.counts.stream().mapToInt(Integer::intValue).toArray();
+        this.locations = toArray(builder.locations);
+        this.derivatives = toArray(builder.derivatives);
+        this.values = toArray(builder.values);
+        this.children = builder.children.stream().mapToInt(Integer::intValue).toArray();
+        this.constant = constant;
+    }
+
+    /**
+     * Compiles {@code spline} if it is built from {@link Spline.SplineImpl}s located by
+     * {@link VanillaTerrainParameters.LocationFunction}s and constants; any other spline is returned as it is.
+     */
+    static Spline<VanillaTerrainParameters.NoisePoint> compile(Spline<VanillaTerrainParameters.NoisePoint> spline) {
+        if (spline instanceof CompiledSpline || !isCompilable(spline)) {
+            return spline;
+        }
+        if (spline instanceof Spline.FixedFloatFunction<VanillaTerrainParameters.NoisePoint> fixed) {
+            return new CompiledSpline(new Builder(), fixed.value());
+        }
+        Builder builder = new Builder();
+        builder.add((Spline.SplineImpl<VanillaTerrainParameters.NoisePoint>) spline);
+        return new CompiledSpline(builder, 0.0f);
+    }
+
+    private static boolean isCompilable(Spline<VanillaTerrainParameters.NoisePoint> spline) {
+        if (spline instanceof Spline.FixedFloatFunction) {
+            return true;
+        }
+        if (!(spline instanceof Spline.SplineImpl<VanillaTerrainParameters.NoisePoint> impl)
+                || !(impl.coordinate() instanceof VanillaTerrainParameters.LocationFunction)) {
+            return false;
+        }
+        for (Spline<VanillaTerrainParameters.NoisePoint> value : impl.values()) {
+            if (!isCompilable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public float apply(VanillaTerrainParameters.NoisePoint point) {
+        return this.apply(point.continentalnessNoise(), point.erosionNoise(), point.weirdnessNoise(), point.normalizedWeirdness());
+    }
+
+    /** Same value as {@link #apply(VanillaTerrainParameters.NoisePoint)} for a point holding these noises. */
+    public float apply(float continentalness, float erosion, float weirdness, float ridges) {
+        if (this.coordinates.length == 0) {
+            return this.constant;
+        }
+        return this.evaluate(0, continentalness, erosion, weirdness, ridges);
+    }
+
+    private float evaluate(int node, float continentalness, float erosion, float weirdness, float ridges) {
+        float f = switch (this.coordinates[node]) {
+            case 0 -> continentalness;
+            case 1 -> erosion;
+            case 2 -> weirdness;
+            default -> ridges;
+        };
+        int first = this.firsts[node];
+        int last = first + this.counts[node] - 1;
+        int i2 = this.findInterval(f, first, last + 1);
+        if (i2 < first) {
+            return this.value(first, continentalness, erosion, weirdness, ridges) + this.derivatives[first] * (f - this.locations[first]);
+        }
+        if (i2 == last) {
+            return this.value(last, continentalness, erosion, weirdness, ridges) + this.derivatives[last] * (f - this.locations[last]);
+        }
+        float g = this.locations[i2];
+        float h = this.locations[i2 + 1];
+        float k = (f - g) / (h - g);
+        float l = this.derivatives[i2];
+        float m = this.derivatives[i2 + 1];
+        float n = this.value(i2, continentalness, erosion, weirdness, ridges);
+        float o = this.value(i2 + 1, continentalness, erosion, weirdness, ridges);
+        float p = l * (h - g) - (o - n);
+        float q = -m * (h - g) + (o - n);
+        return MathHelper.lerp(k, n, o) + k * (1.0f - k) * MathHelper.lerp(k, p, q);
+    }
+
+    private float value(int point, float continentalness, float erosion, float weirdness, float ridges) {
+        int child = this.children[point];
+        return child == NO_CHILD ? this.values[point] : this.evaluate(child, continentalness, erosion, weirdness, ridges);
+    }
+
+    /** Index of the last point in {@code [from, to)} whose location is not above {@code f}, or {@code from - 1}. */
+    private int findInterval(float f, int from, int to) {
+        int start = from;
+        int k = to - from;
+        while (k > 0) {
+            int l = k / 2;
+            int m = start + l;
+            if (f < this.locations[m]) {
+                k = l;
+                continue;
+            }
+            start = m + 1;
+            k -= l + 1;
+        }
+        return start - 1;
+    }
+
+    private static float[] toArray(List<Float> list) {
+        float[] array = new float[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static final class Builder {
+        private final Map<Spline<VanillaTerrainParameters.NoisePoint>, Integer> nodes = new IdentityHashMap<>();
+        private final List<Integer> coordinates = new ArrayList<>();
+        private final List<Integer> firsts = new ArrayList<>();
+        private final List<Integer> counts = new ArrayList<>();
+        private final List<Float> locations = new ArrayList<>();
+        private final List<Float> derivatives = new ArrayList<>();
+        private final List<Float> values = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+
+        /** Adds the node for {@code spline} and everything below it, returning its index. */
+        int add(Spline.SplineImpl<VanillaTerrainParameters.NoisePoint> spline) {
+            Integer existing = this.nodes.get(spline);
+            if (existing != null) {
+                return existing;
+            }
+            int node = this.coordinates.size();
+            this.nodes.put(spline, node);
+            int count = spline.locations().size();
+            int first = this.locations.size();
+            this.coordinates.add(((VanillaTerrainParameters.LocationFunction) spline.coordinate()).ordinal());
+            this.firsts.add(first);
+            this.counts.add(count);
+            // Reserve this node's points before adding children, so they stay next to each other.
+            for (int j = 0; j < count; j++) {
+                this.locations.add(spline.locations().get(j));
+                this.derivatives.add(spline.derivatives().get(j));
+                this.values.add(0.0f);
+                this.children.add(NO_CHILD);
+            }
+            for (int j = 0; j < count; j++) {
+                Spline<VanillaTerrainParameters.NoisePoint> value = spline.values().get(j);
+                if (value instanceof Spline.FixedFloatFunction<VanillaTerrainParameters.NoisePoint> fixed) {
+                    this.values.set(first + j, fixed.value());
+                } else {
+                    this.children.set(first + j, this.add((Spline.SplineImpl<VanillaTerrainParameters.NoisePoint>) value));
+                }
+            }
+            return node;
+        }
+    }
+}
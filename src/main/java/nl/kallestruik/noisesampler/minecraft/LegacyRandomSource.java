@@ -7,6 +7,24 @@ public class LegacyRandomSource implements BitRandomSource {
     private static final long MODULUS_MASK = 281474976710655L;
     private static final long MULTIPLIER = 25214903917L;
     private static final long INCREMENT = 11L;
+    /**
+     * Multiplier and addend of 2^k LCG steps at index k: stepping {@code n} times multiplies and adds the entries
+     * of the bits set in {@code n}. The generator has period 2^48, so only the low 48 bits of a count matter.
+     */
+    private static final long[] JUMP_MULTIPLIERS = new long[MODULUS_BITS];
+    private static final long[] JUMP_ADDENDS = new long[MODULUS_BITS];
+
+    static {
+        long multiplier = MULTIPLIER;
+        long addend = INCREMENT;
+        for (int k = 0; k < MODULUS_BITS; k++) {
+            JUMP_MULTIPLIERS[k] = multiplier;
+            JUMP_ADDENDS[k] = addend;
+            addend = addend * multiplier + addend & MODULUS_MASK;
+            multiplier = multiplier * multiplier & MODULUS_MASK;
+        }
+    }
+
     private final AtomicLong seed = new AtomicLong();
     public LegacyRandomSource(long p_188578_) {
         this.setSeed(p_188578_);
@@ -30,6 +48,27 @@ public class LegacyRandomSource implements BitRandomSource {
         }
     }
 
+    @Override
+    public void consumeCount(int count) {
+        long i = this.seed.get();
+        this.seed.compareAndSet(i, skip(i, count));
+    }
+
+    /**
+     * The internal seed after {@code count} steps from {@code seed}, in one multiply-add per set bit of the count.
+     * Counts of zero or less leave the seed as it is, like stepping in a loop would.
+     */
+    static long skip(long seed, long count) {
+        if (count <= 0) {
+            return seed;
+        }
+        for (int k = 0; k < MODULUS_BITS && count >>> k != 0; k++) {
+            if ((count >>> k & 1L) != 0) {
+                seed = seed * JUMP_MULTIPLIERS[k] + JUMP_ADDENDS[k] & MODULUS_MASK;
+            }
+        }
+        return seed;
+    }
 
     public static long getSeed(int p_14131_, int p_14132_, int p_14133_) {
         long i = (long)(p_14131_ * 3129871) ^ (long)p_14133_ * 116129781L ^ (long)p_14132_;
@@ -1,5 +1,8 @@
 package nl.kallestruik.noisesampler.minecraft;
 
+import java.util.EnumSet;
+import java.util.Set;
+import nl.kallestruik.noisesampler.NoiseType;
 import nl.kallestruik.noisesampler.minecraft.noise.Constant;
 import nl.kallestruik.noisesampler.minecraft.noise.DoublePerlinNoiseSampler;
 import nl.kallestruik.noisesampler.minecraft.noise.InterpolatedNoiseSampler;
@@ -15,6 +18,14 @@ import nl.kallestruik.noisesampler.minecraft.util.TerrainNoisePoint;
 import nl.kallestruik.noisesampler.minecraft.util.Util;
 
 public class NoiseColumnSampler {
+    private static final ThreadLocal<SamplePoint> SCRATCH = ThreadLocal.withInitial(SamplePoint::new);
+    /** Relative slack around the jagged threshold moved into noise space, far above the rounding of that move. */
+    private static final double JAGGED_MARGIN = 1.0E-9;
+    /** Stands in for the noises a sampler was not built with. */
+    private static final NoiseSampler UNAVAILABLE = (x, y, z) -> {
+        throw new IllegalStateException("Noise was not built: its type was not requested from this sampler");
+    };
+
     public final GenerationShapeConfig config;
     public final SimplexNoiseSampler islandNoise;
     public final InterpolatedNoiseSampler terrainNoise;
@@ -48,62 +59,254 @@ public class NoiseColumnSampler {
     public final NoiseSampler oreGapNoise;
     public final Dimension dimension;
     public NoiseColumnSampler(GenerationShapeConfig config, long seed, Dimension dimension) {
+        this(config, seed, dimension, EnumSet.allOf(NoiseType.class));
+    }
+
+    /**
+     * Builds only the noises that {@code types} are computed from; the others are left out and throw when sampled.
+     * Every noise is seeded from its own name or random source, so leaving some out does not change the rest.
+     */
+    public NoiseColumnSampler(GenerationShapeConfig config, long seed, Dimension dimension, Set<NoiseType> types) {
         this.dimension = dimension;
         this.config = config;
         boolean isLargeBiomes = config.largeBiomes();
+        boolean nether = dimension == Dimension.NETHER;
+        int values = 0;
+        for (NoiseType type : types) {
+            values |= type.columnDependencies();
+        }
+        boolean shape = (values & ColumnValue.TERRAIN) != 0 || !nether && (values & ColumnValue.DEPTH.bit) != 0;
+        boolean continentalness = shape || (values & ColumnValue.CONTINENTALNESS.bit) != 0;
+        boolean erosion = shape || (values & ColumnValue.EROSION.bit) != 0;
+        boolean weirdness = shape || (values & ColumnValue.WEIRDNESS.bit) != 0;
+        boolean temperature = (values & ColumnValue.TEMPERATURE.bit) != 0;
+        boolean humidity = (values & ColumnValue.HUMIDITY.bit) != 0;
+        boolean shift = continentalness || erosion || weirdness || !nether && (temperature || humidity)
+                || types.contains(NoiseType.SHIFT_X) || types.contains(NoiseType.SHIFT_Y) || types.contains(NoiseType.SHIFT_Z);
+
         Xoroshiro128PlusPlusRandom randomDeriver = new Xoroshiro128PlusPlusRandom(seed).createRandomDeriver();
-        if (config.islandNoiseOverride()) {
-            RandomSource randomsource = new LegacyRandomSource(seed);
+        if (config.islandNoiseOverride() && types.contains(NoiseType.ISLAND)) {
+            RandomSource randomsource = new SingleThreadedRandomSource(seed);
             randomsource.consumeCount(17292);
             this.islandNoise = new SimplexNoiseSampler(randomsource);
         } else {
             this.islandNoise = null;
         }
-        this.shiftNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.OFFSET);
-        this.terrainNoise = new InterpolatedNoiseSampler(randomDeriver.createRandom("minecraft:terrain") , config.horizontalBlockSize(), config.verticalBlockSize());
-        if (dimension == Dimension.NETHER){
-            NoiseSampler densityfunction = new ShiftA(LazyDoublePerlinNoiseSampler.create(randomDeriver, NoiseParameterKey.OFFSET.value, new DoublePerlinNoiseSampler.NoiseParameters(0, 0)));
-            NoiseSampler densityfunction1 = new ShiftB(LazyDoublePerlinNoiseSampler.create(randomDeriver, NoiseParameterKey.OFFSET.value, new DoublePerlinNoiseSampler.NoiseParameters(0, 0)));
-            this.temperatureNoise = ShiftedNoise.shiftedNoise2d(densityfunction, densityfunction1, 0.25D, LazyDoublePerlinNoiseSampler.createNoiseSampler(new LegacyRandomSource(seed), NoiseParameterKey.TEMPERATURE, true));
-            this.humidityNoise = ShiftedNoise.shiftedNoise2d(densityfunction, densityfunction1, 0.25D, LazyDoublePerlinNoiseSampler.createNoiseSampler(new LegacyRandomSource(seed + 1), NoiseParameterKey.VEGETATION, true));
+        this.shiftNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.OFFSET, shift);
+        this.terrainNoise = types.contains(NoiseType.TERRAIN)
+                ? new InterpolatedNoiseSampler(randomDeriver.createRandom("minecraft:terrain") , config.horizontalBlockSize(), config.verticalBlockSize())
+                : null;
+        if (nether){
+            NoiseSampler densityfunction = null;
+            NoiseSampler densityfunction1 = null;
+            if (temperature || humidity) {
+                densityfunction = new ShiftA(LazyDoublePerlinNoiseSampler.create(randomDeriver, NoiseParameterKey.OFFSET.value, new DoublePerlinNoiseSampler.NoiseParameters(0, 0)));
+                densityfunction1 = new ShiftB(LazyDoublePerlinNoiseSampler.create(randomDeriver, NoiseParameterKey.OFFSET.value, new DoublePerlinNoiseSampler.NoiseParameters(0, 0)));
+            }
+            this.temperatureNoise = temperature
+                    ? ShiftedNoise.shiftedNoise2d(densityfunction, densityfunction1, 0.25D, LazyDoublePerlinNoiseSampler.createNoiseSampler(new SingleThreadedRandomSource(seed), NoiseParameterKey.TEMPERATURE, true))
+                    : UNAVAILABLE;
+            this.humidityNoise = humidity
+                    ? ShiftedNoise.shiftedNoise2d(densityfunction, densityfunction1, 0.25D, LazyDoublePerlinNoiseSampler.createNoiseSampler(new SingleThreadedRandomSource(seed + 1), NoiseParameterKey.VEGETATION, true))
+                    : UNAVAILABLE;
             this.continentalnessNoise = new Constant(0);
             this.erosionNoise = new Constant(0);
             this.weirdnessNoise = new Constant(0);
         } else {
-            this.temperatureNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.TEMPERATURE_LARGE : NoiseParameterKey.TEMPERATURE);
-            this.humidityNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.VEGETATION_LARGE : NoiseParameterKey.VEGETATION);
-            this.continentalnessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.CONTINENTALNESS_LARGE : NoiseParameterKey.CONTINENTALNESS);
-            this.erosionNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.EROSION_LARGE : NoiseParameterKey.EROSION);
-            this.weirdnessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.RIDGE);
+            this.temperatureNoise = createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.TEMPERATURE_LARGE : NoiseParameterKey.TEMPERATURE, temperature);
+            this.humidityNoise = createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.VEGETATION_LARGE : NoiseParameterKey.VEGETATION, humidity);
+            this.continentalnessNoise = createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.CONTINENTALNESS_LARGE : NoiseParameterKey.CONTINENTALNESS, continentalness);
+            this.erosionNoise = createNoiseSampler(randomDeriver, isLargeBiomes ? NoiseParameterKey.EROSION_LARGE : NoiseParameterKey.EROSION, erosion);
+            this.weirdnessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.RIDGE, weirdness);
         }
-        this.aquiferBarrierNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_BARRIER);
-        this.aquiferFluidLevelFloodednessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_FLUID_LEVEL_FLOODEDNESS);
-        this.aquiferLavaNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_LAVA);
-        this.aquiferFluidLevelSpreadNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_FLUID_LEVEL_SPREAD);
-        this.pillarNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR);
-        this.pillarRarenessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR_RARENESS);
-        this.pillarThicknessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR_THICKNESS);
-        this.spaghetti2dNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D);
-        this.spaghetti2dElevationNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_ELEVATION);
-        this.spaghetti2dModulatorNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_MODULATOR);
-        this.spaghetti2dThicknessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_THICKNESS);
-        this.spaghetti3dFirstNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_1);
-        this.spaghetti3dSecondNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_2);
-        this.spaghetti3dRarityNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_RARITY);
-        this.spaghetti3dThicknessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_THICKNESS);
-        this.spaghettiRoughnessNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_ROUGHNESS);
-        this.spaghettiRoughnessModulatorNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_ROUGHNESS_MODULATOR);
-        this.caveEntranceNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_ENTRANCE);
-        this.caveLayerNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_LAYER);
-        this.caveCheeseNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_CHEESE);
-        this.oreGapNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.ORE_GAP);
-        this.jaggedNoise = LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, NoiseParameterKey.JAGGED);
+        boolean pillar = types.contains(NoiseType.PILLAR);
+        boolean spaghetti2d = types.contains(NoiseType.SPAGHETTI_2D);
+        boolean spaghetti3d = types.contains(NoiseType.SPAGHETTI_3D);
+        boolean spaghetti3dRarity = spaghetti3d || types.contains(NoiseType.SPAGHETTI_3D_FIRST) || types.contains(NoiseType.SPAGHETTI_3D_SECOND);
+        boolean roughness = types.contains(NoiseType.SPAGHETTI_ROUGHNESS);
+        this.aquiferBarrierNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_BARRIER, types.contains(NoiseType.AQUIFER_BARRIER));
+        this.aquiferFluidLevelFloodednessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_FLUID_LEVEL_FLOODEDNESS, types.contains(NoiseType.AQUIFER_FLUID_LEVEL_FLOODEDNESS));
+        this.aquiferLavaNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_LAVA, types.contains(NoiseType.AQUIFER_LAVA));
+        this.aquiferFluidLevelSpreadNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.AQUIFER_FLUID_LEVEL_SPREAD, types.contains(NoiseType.AQUIFER_FLUID_LEVEL_SPREAD));
+        this.pillarNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR, pillar);
+        this.pillarRarenessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR_RARENESS, pillar || types.contains(NoiseType.PILLAR_RARENESS));
+        this.pillarThicknessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.PILLAR_THICKNESS, pillar || types.contains(NoiseType.PILLAR_THICKNESS));
+        this.spaghetti2dNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D, spaghetti2d);
+        this.spaghetti2dElevationNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_ELEVATION, spaghetti2d || types.contains(NoiseType.SPAGHETTI_2D_ELEVATION));
+        this.spaghetti2dModulatorNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_MODULATOR, spaghetti2d || types.contains(NoiseType.SPAGHETTI_2D_MODULATOR));
+        this.spaghetti2dThicknessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_2D_THICKNESS, spaghetti2d || types.contains(NoiseType.SPAGHETTI_2D_THICKNESS));
+        this.spaghetti3dFirstNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_1, spaghetti3d || types.contains(NoiseType.SPAGHETTI_3D_FIRST));
+        this.spaghetti3dSecondNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_2, spaghetti3d || types.contains(NoiseType.SPAGHETTI_3D_SECOND));
+        this.spaghetti3dRarityNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_RARITY, spaghetti3dRarity || types.contains(NoiseType.SPAGHETTI_3D_RARITY));
+        this.spaghetti3dThicknessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_3D_THICKNESS, spaghetti3d || types.contains(NoiseType.SPAGHETTI_3D_THICKNESS));
+        this.spaghettiRoughnessNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_ROUGHNESS, roughness);
+        this.spaghettiRoughnessModulatorNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.SPAGHETTI_ROUGHNESS_MODULATOR, roughness || types.contains(NoiseType.SPAGHETTI_ROUGHNESS_MODULATOR));
+        this.caveEntranceNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_ENTRANCE, types.contains(NoiseType.CAVE_ENTRANCE));
+        this.caveLayerNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_LAYER, types.contains(NoiseType.CAVE_LAYER));
+        this.caveCheeseNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.CAVE_CHEESE, types.contains(NoiseType.CAVE_CHEESE));
+        this.oreGapNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.ORE_GAP, types.contains(NoiseType.ORE_GAP));
+        this.jaggedNoise = createNoiseSampler(randomDeriver, NoiseParameterKey.JAGGED, types.contains(NoiseType.JAGGED));
+    }
+
+    private static NoiseSampler createNoiseSampler(Xoroshiro128PlusPlusRandom randomDeriver, NoiseParameterKey key, boolean used) {
+        return used ? LazyDoublePerlinNoiseSampler.createNoiseSampler(randomDeriver, key) : UNAVAILABLE;
     }
 
     public NoiseValuePoint sample(int x, int y, int z) {
         return this.createNoisePoint(x, y, z, this.createNoiseInfo(x, z));
     }
 
+    /**
+     * Samples into the calling thread's scratch point. The result is overwritten by the next call on the same
+     * thread, from any sampler, so read what you need before sampling again.
+     */
+    public SamplePoint samplePoint(int x, int y, int z) {
+        return this.samplePoint(x, y, z, ColumnValue.ALL);
+    }
+
+    /** Like {@link #samplePoint(int, int, int)}, but only computes the {@link ColumnValue}s in {@code values}. */
+    public SamplePoint samplePoint(int x, int y, int z, int values) {
+        SamplePoint point = SCRATCH.get();
+        this.sample(x, y, z, point, values);
+        return point;
+    }
+
+    /**
+     * Allocation-free equivalent of {@link #sample(int, int, int)} followed by {@link #createTerrainNoisePoint}
+     * on the quantized continentalness, weirdness and erosion, with the same float rounding at every step.
+     */
+    public void sample(int x, int y, int z, SamplePoint out) {
+        this.sample(x, y, z, out, ColumnValue.ALL);
+    }
+
+    /**
+     * Computes only the {@link ColumnValue}s in the {@code values} mask and whatever they are derived from;
+     * the other fields of {@code out} keep stale values. Terrain values need all three shape noises, depth
+     * needs them plus the offset spline outside the Nether, and the climate noises only their own sampler.
+     */
+    public void sample(int x, int y, int z, SamplePoint out, int values) {
+        this.sampleColumn(x, z, out, values);
+        if ((values & ColumnValue.DEPTH.bit) != 0) {
+            this.sampleDepth(y, out);
+        }
+    }
+
+    /**
+     * Computes the requested values of the column at {@code x, z}. Depth is the only value that varies with y:
+     * this prepares it, and {@link #sampleDepth} then finishes it for each y of the column.
+     */
+    public void sampleColumn(int x, int z, SamplePoint out, int values) {
+        if (values == 0) {
+            return;
+        }
+        VanillaTerrainParameters parameters = this.config.terrainParameters();
+        boolean nether = dimension == Dimension.NETHER;
+        boolean terrain = (values & ColumnValue.TERRAIN) != 0;
+        boolean shape = terrain || !nether && (values & ColumnValue.DEPTH.bit) != 0;
+        boolean continentalness = shape || (values & ColumnValue.CONTINENTALNESS.bit) != 0;
+        boolean erosion = shape || (values & ColumnValue.EROSION.bit) != 0;
+        boolean weirdness = shape || (values & ColumnValue.WEIRDNESS.bit) != 0;
+        boolean climate = (values & ColumnValue.CLIMATE) != 0;
+
+        double d = x;
+        double e = z;
+        if (continentalness || erosion || weirdness || climate && !nether) {
+            d = (double)x + this.sampleShiftNoise(x, 0, z);
+            e = (double)z + this.sampleShiftNoise(z, x, 0);
+        }
+        double f = continentalness ? this.sampleContinentalnessNoise(d, 0.0, e) : 0.0;
+        double g = weirdness ? this.sampleWeirdnessNoise(d, 0.0, e) : 0.0;
+        double h = erosion ? this.sampleErosionNoise(d, 0.0, e) : 0.0;
+        double i = nether ? x << 2 : d;
+        double j = nether ? z << 2 : e;
+
+        if ((values & ColumnValue.TEMPERATURE.bit) != 0) {
+            out.temperatureNoise = (long)((float)this.sampleTemperatureNoise(i, j) * 10000.0f);
+        }
+        if ((values & ColumnValue.HUMIDITY.bit) != 0) {
+            out.humidityNoise = (long)((float)this.sampleHumidityNoise(i, j) * 10000.0f);
+        }
+        if ((values & ColumnValue.DEPTH.bit) != 0) {
+            out.hasDepthOffset = !nether;
+            if (!nether) {
+                out.depthOffset = parameters.getOffset(out.terrainPoint.set((float)f, (float)h, (float)g));
+            }
+        }
+        out.continentalnessNoise = (long)((float)f * 10000.0f);
+        out.erosionNoise = (long)((float)h * 10000.0f);
+        out.weirdnessNoise = (long)((float)g * 10000.0f);
+
+        if (terrain) {
+            VanillaTerrainParameters.NoisePoint terrainPoint = out.terrainPoint.set(
+                    out.continentalnessNoise / 10000.0f,
+                    out.erosionNoise / 10000.0f,
+                    out.weirdnessNoise / 10000.0f);
+            if ((values & ColumnValue.OFFSET.bit) != 0) {
+                out.offset = parameters.getOffset(terrainPoint);
+            }
+            if ((values & ColumnValue.FACTOR.bit) != 0) {
+                out.factor = parameters.getFactor(terrainPoint);
+            }
+            if ((values & ColumnValue.PEAKS.bit) != 0) {
+                out.peaks = parameters.getPeak(terrainPoint);
+            }
+        }
+    }
+
+    /** Sets the depth of {@code out} at {@code y}, from a column sampled with {@link ColumnValue#DEPTH}. */
+    public void sampleDepth(int y, SamplePoint out) {
+        double k = out.hasDepthOffset ? 1.0 - (double)Util.toBlock(y) / 128.0 + (double)out.depthOffset : 0;
+        out.depth = (long)((float)k * 10000.0f);
+    }
+
+    /**
+     * Places the unquantized climate noise {@code value} of the column at {@code x, z} relative to {@code threshold},
+     * as {@link NoiseSampler#sampleAgainst} does, evaluating only the octaves needed.
+     */
+    public int compareClimate(ColumnValue value, int x, int z, double threshold, double margin) {
+        boolean nether = dimension == Dimension.NETHER;
+        boolean shape = value == ColumnValue.CONTINENTALNESS || value == ColumnValue.EROSION || value == ColumnValue.WEIRDNESS;
+        double d = x;
+        double e = z;
+        if (shape || !nether) {
+            d = (double)x + this.sampleShiftNoise(x, 0, z);
+            e = (double)z + this.sampleShiftNoise(z, x, 0);
+        }
+        double i = nether ? x << 2 : d;
+        double j = nether ? z << 2 : e;
+        return switch (value) {
+            case TEMPERATURE -> this.temperatureNoise.sampleAgainst(i, 0.0, j, threshold, margin);
+            case HUMIDITY -> this.humidityNoise.sampleAgainst(i, 0.0, j, threshold, margin);
+            case CONTINENTALNESS -> this.continentalnessNoise.sampleAgainst(d, 0.0, e, threshold, margin);
+            case EROSION -> this.erosionNoise.sampleAgainst(d, 0.0, e, threshold, margin);
+            case WEIRDNESS -> this.weirdnessNoise.sampleAgainst(d, 0.0, e, threshold, margin);
+            default -> throw new IllegalArgumentException("Not a climate noise: " + value);
+        };
+    }
+
+    /**
+     * Bound on how much the unquantized climate noise {@code value} differs between columns within
+     * {@code [-range, range]} that are {@code distance} apart over x and z; infinite when none is known. The shift
+     * moves both noise coordinates by up to four times the shift noise's own variation.
+     */
+    public double climateVariation(ColumnValue value, double distance, double range) {
+        boolean nether = dimension == Dimension.NETHER;
+        NoiseSampler noise = switch (value) {
+            case TEMPERATURE -> this.temperatureNoise;
+            case HUMIDITY -> this.humidityNoise;
+            case CONTINENTALNESS -> this.continentalnessNoise;
+            case EROSION -> this.erosionNoise;
+            case WEIRDNESS -> this.weirdnessNoise;
+            default -> throw new IllegalArgumentException("Not a climate noise: " + value);
+        };
+        boolean shape = value == ColumnValue.CONTINENTALNESS || value == ColumnValue.EROSION || value == ColumnValue.WEIRDNESS;
+        if (nether && !shape) {
+            return noise.maxVariation(4.0 * distance, 4.0 * range);
+        }
+        double shifted = distance + 2.0 * 4.0 * this.shiftNoise.maxVariation(distance, range);
+        return noise.maxVariation(shifted, range + 4.0 * this.shiftNoise.maxValue());
+    }
+
     public NoiseInfo createNoiseInfo(int x, int z) {
         double d = (double)x + this.sampleShiftNoise(x, 0, z);
         double e = (double)z + this.sampleShiftNoise(z, x, 0);
@@ -162,12 +365,28 @@ public class NoiseColumnSampler {
         return h > 0.0 ? d * h : d / 2.0 * h;
     }
 
+    /**
+     * Sign of {@code sampleJaggedNoise(d, e, f) - threshold}. The jagged value grows with the noise for positive
+     * peaks, so the threshold is moved into noise space and the noise octaves are only evaluated until its side is
+     * known; values too close to call are computed exactly.
+     */
+    public int compareJaggedNoise(double d, double e, double f, double threshold) {
+        if (d > 0.0) {
+            double h = threshold > 0.0 ? threshold / d : threshold * 2.0 / d;
+            int side = this.jaggedNoise.sampleAgainst(e * 1500.0, 0.0, f * 1500.0, h, JAGGED_MARGIN * (1.0 + Math.abs(h)));
+            if (side != 0) {
+                return side;
+            }
+        }
+        double value = this.sampleJaggedNoise(d, e, f);
+        return value > threshold ? 1 : value < threshold ? -1 : 0;
+    }
+
     public TerrainNoisePoint createTerrainNoisePoint(float continentalness, float weirdness, float erosion) {
         VanillaTerrainParameters parameters = this.config.terrainParameters();
-        VanillaTerrainParameters.NoisePoint noisePoint = parameters.createNoisePoint(continentalness, erosion, weirdness);
-        float k = parameters.getOffset(noisePoint);
-        float l = parameters.getFactor(noisePoint);
-        float m = parameters.getPeak(noisePoint);
+        float k = parameters.getOffset(continentalness, erosion, weirdness);
+        float l = parameters.getFactor(continentalness, erosion, weirdness);
+        float m = parameters.getPeak(continentalness, erosion, weirdness);
         return new TerrainNoisePoint(k, l, m);
     }
 
@@ -234,6 +453,105 @@ public class NoiseColumnSampler {
         return sampler.sample(x / invertedScale, y / invertedScale, z / invertedScale);
     }
 
+    /** Values a {@link SamplePoint} can hold, as bits of the mask passed to {@link #samplePoint(int, int, int, int)}. */
+    public enum ColumnValue {
+        TEMPERATURE,
+        HUMIDITY,
+        CONTINENTALNESS,
+        EROSION,
+        WEIRDNESS,
+        DEPTH,
+        OFFSET,
+        FACTOR,
+        PEAKS;
+
+        public static final int ALL = (1 << values().length) - 1;
+        static final int CLIMATE = TEMPERATURE.bit | HUMIDITY.bit;
+        static final int TERRAIN = OFFSET.bit | FACTOR.bit | PEAKS.bit;
+
+        public final int bit = 1 << ordinal();
+
+        public static int mask(ColumnValue... values) {
+            int mask = 0;
+            for (ColumnValue value : values) {
+                mask |= value.bit;
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Mutable, reusable counterpart of {@link NoiseValuePoint} plus the {@link TerrainNoisePoint} derived from
+     * its quantized values.
+     */
+    public static final class SamplePoint {
+        private final VanillaTerrainParameters.NoisePoint terrainPoint = new VanillaTerrainParameters.NoisePoint();
+        private long temperatureNoise;
+        private long humidityNoise;
+        private long continentalnessNoise;
+        private long erosionNoise;
+        private long depth;
+        private long weirdnessNoise;
+        private double offset;
+        private double factor;
+        private double peaks;
+        private boolean hasDepthOffset;
+        private float depthOffset;
+
+        /** A point holding the given values; without a terrain point its terrain values are 0. */
+        public static SamplePoint of(NoiseValuePoint noise, TerrainNoisePoint terrain) {
+            SamplePoint point = new SamplePoint();
+            point.temperatureNoise = noise.temperatureNoise();
+            point.humidityNoise = noise.humidityNoise();
+            point.continentalnessNoise = noise.continentalnessNoise();
+            point.erosionNoise = noise.erosionNoise();
+            point.depth = noise.depth();
+            point.weirdnessNoise = noise.weirdnessNoise();
+            if (terrain != null) {
+                point.offset = terrain.offset();
+                point.factor = terrain.factor();
+                point.peaks = terrain.peaks();
+            }
+            return point;
+        }
+
+        public long temperatureNoise() {
+            return this.temperatureNoise;
+        }
+
+        public long humidityNoise() {
+            return this.humidityNoise;
+        }
+
+        public long continentalnessNoise() {
+            return this.continentalnessNoise;
+        }
+
+        public long erosionNoise() {
+            return this.erosionNoise;
+        }
+
+        public long depth() {
+            return this.depth;
+        }
+
+        public long weirdnessNoise() {
+            return this.weirdnessNoise;
+        }
+
+        public double offset() {
+            return this.offset;
+        }
+
+        public double factor() {
+            return this.factor;
+        }
+
+        public double peaks() {
+            return this.peaks;
+        }
+    }
+
     public record NoiseInfo(double shiftedX, double shiftedZ, double continentalness, double weirdness, double erosion, TerrainNoisePoint terrainInfo) {}
 
     public static final class CaveScaler {
@@ -0,0 +1,35 @@
+package nl.kallestruik.noisesampler.minecraft;
+
+/**
+ * {@link LegacyRandomSource} without the atomic seed, for random sources that stay on one thread, which is all of
+ * them while building noises. Produces exactly the same numbers.
+ */
+public class SingleThreadedRandomSource implements BitRandomSource {
+    private static final long MODULUS_MASK = 281474976710655L;
+    private static final long MULTIPLIER = 25214903917L;
+    private static final long INCREMENT = 11L;
+    private long seed;
+
+    public SingleThreadedRandomSource(long seed) {
+        this.setSeed(seed);
+    }
+
+    public RandomSource fork() {
+        return new SingleThreadedRandomSource(this.nextLong());
+    }
+
+    public void setSeed(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MODULUS_MASK;
+    }
+
+    public int next(int bits) {
+        long next = this.seed * MULTIPLIER + INCREMENT & MODULUS_MASK;
+        this.seed = next;
+        return (int)(next >> 48 - bits);
+    }
+
+    @Override
+    public void consumeCount(int count) {
+        this.seed = LegacyRandomSource.skip(this.seed, count);
+    }
+}
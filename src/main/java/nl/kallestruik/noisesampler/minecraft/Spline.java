@@ -59,7 +59,7 @@ public interface Spline<C> extends ToFloatFunction<C> {
         @Override
         public float apply(C object) {
             float f = this.coordinate.apply(object);
-            int i2 = MathHelper.binarySearch(0, this.locations.size(), i -> f < this.locations.get(i)) - 1;
+            int i2 = this.findInterval(f);
             int j = this.locations.size() - 1;
             if (i2 < 0) {
                 return this.values.get(0).apply(object) + this.derivatives.get(0) * (f - this.locations.get(0));
@@ -81,6 +81,26 @@ public interface Spline<C> extends ToFloatFunction<C> {
             return MathHelper.lerp(k, n, o) + k * (1.0f - k) * MathHelper.lerp(k, p, q);
         }
 
+        /**
+         * Index of the last location not above {@code f}, or -1. Same search as {@link MathHelper#binarySearch},
+         * written out so that {@code apply} does not allocate a capturing predicate per call.
+         */
+        private int findInterval(float f) {
+            int start = 0;
+            int k = this.locations.size();
+            while (k > 0) {
+                int l = k / 2;
+                int m = start + l;
+                if (f < this.locations.get(m)) {
+                    k = l;
+                    continue;
+                }
+                start = m + 1;
+                k -= l + 1;
+            }
+            return start - 1;
+        }
+
 
     }
 }
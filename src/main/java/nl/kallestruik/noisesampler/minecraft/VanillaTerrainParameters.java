@@ -7,6 +7,13 @@ import nl.kallestruik.noisesampler.minecraft.util.MathHelper;
 
 public record VanillaTerrainParameters(Spline<NoisePoint> offsetSpline, Spline<NoisePoint> factorSpline, Spline<NoisePoint> peakSpline) {
 
+    /** The splines are kept in their {@link CompiledSpline} form, which evaluates to the same values. */
+    public VanillaTerrainParameters {
+        offsetSpline = CompiledSpline.compile(offsetSpline);
+        factorSpline = CompiledSpline.compile(factorSpline);
+        peakSpline = CompiledSpline.compile(peakSpline);
+    }
+
     public static VanillaTerrainParameters createSurfaceParameters() {
         Spline<NoisePoint> lv4 = VanillaTerrainParameters.createLandSpline(-0.15f, 0.0f, 0.0f, 0.1f, 0.0f, -0.03f, false, false);
         Spline<NoisePoint> lv5 = VanillaTerrainParameters.createLandSpline(-0.1f, 0.03f, 0.1f, 0.1f, 0.01f, -0.03f, false, false);
@@ -228,6 +235,26 @@ public record VanillaTerrainParameters(Spline<NoisePoint> offsetSpline, Spline<N
         return this.peakSpline.apply(point);
     }
 
+    /** Same as {@code getOffset(createNoisePoint(continentalness, erosion, weirdness))}, without creating the point. */
+    public float getOffset(float continentalness, float erosion, float weirdness) {
+        return VanillaTerrainParameters.apply(this.offsetSpline, continentalness, erosion, weirdness) + -0.50375f;
+    }
+
+    public float getFactor(float continentalness, float erosion, float weirdness) {
+        return VanillaTerrainParameters.apply(this.factorSpline, continentalness, erosion, weirdness);
+    }
+
+    public float getPeak(float continentalness, float erosion, float weirdness) {
+        return VanillaTerrainParameters.apply(this.peakSpline, continentalness, erosion, weirdness);
+    }
+
+    private static float apply(Spline<NoisePoint> spline, float continentalness, float erosion, float weirdness) {
+        if (spline instanceof CompiledSpline compiled) {
+            return compiled.apply(continentalness, erosion, weirdness, VanillaTerrainParameters.getNormalizedWeirdness(weirdness));
+        }
+        return spline.apply(new NoisePoint(continentalness, erosion, VanillaTerrainParameters.getNormalizedWeirdness(weirdness), weirdness));
+    }
+
     public NoisePoint createNoisePoint(float continentalnessNoise, float erosionNoise, float weirdnessNoise) {
         return new NoisePoint(continentalnessNoise, erosionNoise, VanillaTerrainParameters.getNormalizedWeirdness(weirdnessNoise), weirdnessNoise);
     }
@@ -260,7 +287,49 @@ public record VanillaTerrainParameters(Spline<NoisePoint> offsetSpline, Spline<N
         }
     }
 
-    public record NoisePoint(float continentalnessNoise, float erosionNoise, float normalizedWeirdness, float weirdnessNoise) {
+    /**
+     * Spline input. Mutable so that hot sampling loops can refill one instance per thread instead of
+     * allocating a point per evaluation; the splines only read it during {@code apply}.
+     */
+    public static final class NoisePoint {
+        private float continentalnessNoise;
+        private float erosionNoise;
+        private float normalizedWeirdness;
+        private float weirdnessNoise;
+
+        public NoisePoint() {
+        }
+
+        public NoisePoint(float continentalnessNoise, float erosionNoise, float normalizedWeirdness, float weirdnessNoise) {
+            this.continentalnessNoise = continentalnessNoise;
+            this.erosionNoise = erosionNoise;
+            this.normalizedWeirdness = normalizedWeirdness;
+            this.weirdnessNoise = weirdnessNoise;
+        }
+
+        public NoisePoint set(float continentalnessNoise, float erosionNoise, float weirdnessNoise) {
+            this.continentalnessNoise = continentalnessNoise;
+            this.erosionNoise = erosionNoise;
+            this.normalizedWeirdness = VanillaTerrainParameters.getNormalizedWeirdness(weirdnessNoise);
+            this.weirdnessNoise = weirdnessNoise;
+            return this;
+        }
+
+        public float continentalnessNoise() {
+            return this.continentalnessNoise;
+        }
+
+        public float erosionNoise() {
+            return this.erosionNoise;
+        }
+
+        public float normalizedWeirdness() {
+            return this.normalizedWeirdness;
+        }
+
+        public float weirdnessNoise() {
+            return this.weirdnessNoise;
+        }
     }
 
     public static VanillaTerrainParameters createNetherParameters() {
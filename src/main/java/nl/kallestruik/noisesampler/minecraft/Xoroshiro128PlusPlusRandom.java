@@ -3,8 +3,56 @@ package nl.kallestruik.noisesampler.minecraft;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class Xoroshiro128PlusPlusRandom implements SimplexNoiseRandom, BitRandomSource {
+    /*
+     * createRandom XORs the deriver state with the MD5 of a name, and the names in use are a fixed set: the noise
+     * identifiers and the octave names. Their hashes do not depend on the seed, so they are computed once here
+     * instead of once per noise and octave of every seed. Each entry holds the two halves as {lo, hi}.
+     */
+    private static final Map<String, long[]> NAME_HASHES = new HashMap<>();
+    private static final int MIN_OCTAVE = -32;
+    private static final int MAX_OCTAVE = 32;
+    /** Octave hashes indexed by {@code 2 * (octave - MIN_OCTAVE)}, lo first. */
+    private static final long[] OCTAVE_HASHES = new long[2 * (MAX_OCTAVE - MIN_OCTAVE + 1)];
+
+    static {
+        for (NoiseParameterKey key : NoiseParameterKey.values()) {
+            NAME_HASHES.put("minecraft:" + key.value, hash("minecraft:" + key.value));
+        }
+        NAME_HASHES.put("minecraft:terrain", hash("minecraft:terrain"));
+        for (int octave = MIN_OCTAVE; octave <= MAX_OCTAVE; octave++) {
+            long[] hash = hash("octave_" + octave);
+            NAME_HASHES.put("octave_" + octave, hash);
+            OCTAVE_HASHES[2 * (octave - MIN_OCTAVE)] = hash[0];
+            OCTAVE_HASHES[2 * (octave - MIN_OCTAVE) + 1] = hash[1];
+        }
+    }
+
+    /*
+     * The state update is linear over GF(2), so stepping n times is applying r(T), where r = x^n mod p for the
+     * characteristic polynomial p of the update T. JUMP_POWERS holds x^(2^k) mod p as {lo, hi} words at 2k, 2k + 1;
+     * a jump multiplies the powers of the bits set in n and then applies r in 128 steps. Multiplying costs about
+     * as much as stepping 128 times, so short skips just step.
+     */
+    private static final int JUMP_THRESHOLD = 1024;
+    private static final long[] CHARACTERISTIC = characteristicPolynomial();
+    private static final long[] JUMP_POWERS = new long[2 * 64];
+
+    static {
+        long lo = 2L;
+        long hi = 0L;
+        for (int k = 0; k < 64; k++) {
+            JUMP_POWERS[2 * k] = lo;
+            JUMP_POWERS[2 * k + 1] = hi;
+            long[] square = multiplyMod(lo, hi, lo, hi);
+            lo = square[0];
+            hi = square[1];
+        }
+    }
+
     public Seed128 seed;
     private double nextNextGaussian;
     private boolean haveNextNextGaussian;
@@ -25,16 +73,128 @@ public class Xoroshiro128PlusPlusRandom implements SimplexNoiseRandom, BitRandom
     }
 
     public Xoroshiro128PlusPlusRandom createRandom(String string) {
-        byte[] bs = md5Hash(string);
-        long l = fromBytes(bs, 0);
-        long m = fromBytes(bs, 8);
-        return new Xoroshiro128PlusPlusRandom(l ^ this.seed.loSeed, m ^ this.seed.hiSeed);
+        long[] hash = NAME_HASHES.get(string);
+        if (hash == null) {
+            hash = hash(string);
+        }
+        return new Xoroshiro128PlusPlusRandom(hash[0] ^ this.seed.loSeed, hash[1] ^ this.seed.hiSeed);
+    }
+
+    /** Same as {@code createRandom("octave_" + octave)}, straight from the precomputed table. */
+    public Xoroshiro128PlusPlusRandom createOctaveRandom(int octave) {
+        if (octave < MIN_OCTAVE || octave > MAX_OCTAVE) {
+            return createRandom("octave_" + octave);
+        }
+        int index = 2 * (octave - MIN_OCTAVE);
+        return new Xoroshiro128PlusPlusRandom(OCTAVE_HASHES[index] ^ this.seed.loSeed, OCTAVE_HASHES[index + 1] ^ this.seed.hiSeed);
     }
 
     public void skip(int count) {
-        for (int j = 0; j < count; ++j) {
+        this.skip((long) count);
+    }
+
+    /** Advances as if {@link #nextLong()} was called {@code count} times; long skips jump instead of stepping. */
+    public void skip(long count) {
+        if (count < JUMP_THRESHOLD) {
+            for (long j = 0; j < count; ++j) {
+                this.nextLong();
+            }
+            return;
+        }
+        int k = Long.numberOfTrailingZeros(count);
+        long rLo = JUMP_POWERS[2 * k];
+        long rHi = JUMP_POWERS[2 * k + 1];
+        for (k++; k < 64; k++) {
+            if ((count >>> k & 1L) != 0) {
+                long[] product = multiplyMod(rLo, rHi, JUMP_POWERS[2 * k], JUMP_POWERS[2 * k + 1]);
+                rLo = product[0];
+                rHi = product[1];
+            }
+        }
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 0; i < 128; i++) {
+            if (((i < 64 ? rLo >>> i : rHi >>> i - 64) & 1L) != 0) {
+                lo ^= this.seed.loSeed;
+                hi ^= this.seed.hiSeed;
+            }
             this.nextLong();
         }
+        this.seed.loSeed = lo;
+        this.seed.hiSeed = hi;
+    }
+
+    /** {@code a * b mod p} for polynomials over GF(2) of degree below 128, given as their {lo, hi} words. */
+    private static long[] multiplyMod(long aLo, long aHi, long bLo, long bHi) {
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 127; i >= 0; i--) {
+            boolean carry = hi < 0;
+            hi = hi << 1 | lo >>> 63;
+            lo <<= 1;
+            if (carry) {
+                lo ^= CHARACTERISTIC[0];
+                hi ^= CHARACTERISTIC[1];
+            }
+            if (((i < 64 ? bLo >>> i : bHi >>> i - 64) & 1L) != 0) {
+                lo ^= aLo;
+                hi ^= aHi;
+            }
+        }
+        return new long[] {lo, hi};
+    }
+
+    /**
+     * Low 128 coefficients of the characteristic polynomial of the state update (x^128 is implied), found with
+     * Berlekamp-Massey from one output bit of the linear state.
+     */
+    private static long[] characteristicPolynomial() {
+        int length = 256;
+        int[] bits = new int[length];
+        Xoroshiro128PlusPlusRandom random = new Xoroshiro128PlusPlusRandom(1L, 0L);
+        for (int n = 0; n < length; n++) {
+            bits[n] = (int) (random.seed.loSeed & 1L);
+            random.nextLong();
+        }
+        int[] c = new int[length + 1];
+        int[] b = new int[length + 1];
+        c[0] = 1;
+        b[0] = 1;
+        int degree = 0;
+        int m = -1;
+        for (int n = 0; n < length; n++) {
+            int discrepancy = bits[n];
+            for (int i = 1; i <= degree; i++) {
+                discrepancy ^= c[i] & bits[n - i];
+            }
+            if (discrepancy != 0) {
+                int[] previous = c.clone();
+                for (int i = 0; i + n - m <= length; i++) {
+                    c[i + n - m] ^= b[i];
+                }
+                if (2 * degree <= n) {
+                    degree = n + 1 - degree;
+                    m = n;
+                    b = previous;
+                }
+            }
+        }
+        if (degree != 128) {
+            throw new IllegalStateException("Unexpected linear complexity " + degree);
+        }
+        long lo = 0L;
+        long hi = 0L;
+        for (int j = 1; j <= degree; j++) {
+            int power = degree - j;
+            if (c[j] != 0) {
+                if (power < 64) {
+                    lo |= 1L << power;
+                } else {
+                    hi |= 1L << power - 64;
+                }
+            }
+        }
+        return new long[] {lo, hi};
     }
 
     public static long mixStafford13(long l) {
@@ -49,7 +209,12 @@ public class Xoroshiro128PlusPlusRandom implements SimplexNoiseRandom, BitRandom
         return new Seed128(mixStafford13(silverSeed), mixStafford13(goldenSeed));
     }
 
-    private byte[] md5Hash(String input) {
+    private static long[] hash(String name) {
+        byte[] bs = md5Hash(name);
+        return new long[] {fromBytes(bs, 0), fromBytes(bs, 8)};
+    }
+
+    private static byte[] md5Hash(String input) {
         try {
             MessageDigest md = MessageDigest.getInstance("MD5");
             return md.digest(input.getBytes(StandardCharsets.UTF_8));
@@ -58,7 +223,7 @@ public class Xoroshiro128PlusPlusRandom implements SimplexNoiseRandom, BitRandom
         }
     }
 
-    private long fromBytes(byte[] bytes, int offset) {
+    private static long fromBytes(byte[] bytes, int offset) {
         return ((long) bytes[offset] & 0xff) << 56
                 | ((long) bytes[offset + 1] & 0xff) << 48
                 | ((long) bytes[offset + 2] & 0xff) << 40
@@ -125,7 +290,7 @@ public class Xoroshiro128PlusPlusRandom implements SimplexNoiseRandom, BitRandom
 
     @Override
     public void consumeCount(int p_216338_) {
-        BitRandomSource.super.consumeCount(p_216338_);
+        this.skip(p_216338_);
     }
 
     @Override
@@ -5,4 +5,14 @@ public record Constant(double value) implements NoiseSampler{
     public double sample(double d0, double d1, double d2) {
         return value;
     }
+
+    @Override
+    public double maxVariation(double distance, double range) {
+        return 0.0;
+    }
+
+    @Override
+    public double maxValue() {
+        return Math.abs(value);
+    }
 }
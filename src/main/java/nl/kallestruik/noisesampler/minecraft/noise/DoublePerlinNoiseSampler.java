@@ -50,7 +50,25 @@ public class DoublePerlinNoiseSampler {
         double g = x * 1.0181268882175227;
         double h = y * 1.0181268882175227;
         double i = z * 1.0181268882175227;
-        return (this.firstSampler.sample(x, y, z) + this.secondSampler.sample(g, h, i)) * this.amplitude;
+        return OctavePerlinNoiseSampler.samplePair(this.firstSampler, x, y, z, this.secondSampler, g, h, i) * this.amplitude;
+    }
+
+    /** Bounded form of {@link #sample(double, double, double)}, see {@link NoiseSampler#sampleAgainst}. */
+    public int sampleAgainst(double x, double y, double z, double threshold, double margin) {
+        double g = x * 1.0181268882175227;
+        double h = y * 1.0181268882175227;
+        double i = z * 1.0181268882175227;
+        return OctavePerlinNoiseSampler.compare(this.firstSampler, x, y, z, this.secondSampler, g, h, i, this.amplitude, threshold, margin);
+    }
+
+    /** See {@link NoiseSampler#maxVariation}; the second octave set runs at 1.0181268882175227 times the coordinates. */
+    public double maxVariation(double distance, double range) {
+        return (this.firstSampler.maxVariation(distance, range)
+                + this.secondSampler.maxVariation(distance * 1.0181268882175227, range * 1.0181268882175227)) * this.amplitude;
+    }
+
+    public double maxValue() {
+        return (this.firstSampler.maxValue() + this.secondSampler.maxValue()) * this.amplitude;
     }
 
     public static class NoiseParameters {
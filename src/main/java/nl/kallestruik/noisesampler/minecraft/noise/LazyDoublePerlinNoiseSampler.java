@@ -27,6 +27,25 @@ public class LazyDoublePerlinNoiseSampler implements NoiseSampler{
     }
 
     public double sample(double x, double y, double z) {
+        return getSampler().sample(x, y, z);
+    }
+
+    @Override
+    public int sampleAgainst(double x, double y, double z, double threshold, double margin) {
+        return getSampler().sampleAgainst(x, y, z, threshold, margin);
+    }
+
+    @Override
+    public double maxVariation(double distance, double range) {
+        return getSampler().maxVariation(distance, range);
+    }
+
+    @Override
+    public double maxValue() {
+        return getSampler().maxValue();
+    }
+
+    private DoublePerlinNoiseSampler getSampler() {
         if (!initialized) {
             if (nether){
                 sampler = DoublePerlinNoiseSampler.create(randomDeriver, parameters, nether);
@@ -37,7 +56,7 @@ public class LazyDoublePerlinNoiseSampler implements NoiseSampler{
             }
             initialized = true;
         }
-        return sampler.sample(x, y, z);
+        return sampler;
     }
     public static LazyDoublePerlinNoiseSampler createNoiseSampler(BitRandomSource randomDeriver, NoiseParameterKey noise) {
         return createNoiseSampler(randomDeriver, noise, false);
@@ -2,4 +2,28 @@ package nl.kallestruik.noisesampler.minecraft.noise;
 
 public interface NoiseSampler {
     double sample(double d0, double d1, double d2);
+
+    /**
+     * Places the sample at (x, y, z) relative to {@code threshold}: 1 if it is above {@code threshold + margin},
+     * -1 if it is below {@code threshold - margin}, 0 in between. Octave noises only evaluate as many octaves as
+     * it takes to be sure.
+     */
+    default int sampleAgainst(double x, double y, double z, double threshold, double margin) {
+        double value = this.sample(x, y, z);
+        return value > threshold + margin ? 1 : value < threshold - margin ? -1 : 0;
+    }
+
+    /**
+     * Bound on {@code |sample(p) - sample(q)|}, up to rounding, for points whose coordinates all lie within
+     * {@code [-range, range]} and differ by at most {@code distance} in total over the three axes. Infinite when
+     * no bound is known.
+     */
+    default double maxVariation(double distance, double range) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /** Bound on {@code |sample|}; infinite when none is known. */
+    default double maxValue() {
+        return Double.POSITIVE_INFINITY;
+    }
 }
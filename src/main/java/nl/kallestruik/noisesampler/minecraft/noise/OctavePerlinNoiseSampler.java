@@ -14,11 +14,34 @@ import nl.kallestruik.noisesampler.minecraft.util.MathHelper;
 import nl.kallestruik.noisesampler.minecraft.util.Pair;
 
 public class OctavePerlinNoiseSampler {
+    /** Below 2^23 in magnitude, {@link #maintainPrecision(double)} returns its argument unchanged. */
+    private static final double PRECISION_SAFE = 8388608.0;
+    /** Covers the rounding of a partial sum taken in another order, relative to the bound on the whole sum. */
+    private static final double ROUNDING_SLACK = 1.0E-12;
     private final PerlinNoiseSampler[] octaveSamplers;
     private final int firstOctave;
     private final List<Double> amplitudes;
     private final double persistence;
     private final double lacunarity;
+    /*
+     * Dense form of the octaves, built once: only the non-null samplers, each with its frequency and weight.
+     * When every amplitude is a power of two, amplitude * persistence is exact and is folded into weights, with
+     * persistences all 1.0 unused; otherwise weights holds the amplitudes and the sum keeps both multiplications
+     * in the original order, so results stay bit-identical either way.
+     */
+    private final PerlinNoiseSampler[] octaves;
+    private final double[] frequencies;
+    private final double[] weights;
+    private final double[] persistences;
+    private final boolean premultiplied;
+    /** Largest coordinate magnitude for which maintainPrecision is the identity at every octave frequency. */
+    private final double precisionBound;
+    /** Octave indices by decreasing contribution bound, and the bound on the sum of octaves from each position on. */
+    private final int[] boundOrder;
+    private final double[] remainingBounds;
+    /** Per octave, in dense order: bounds on its term and on the term's derivative along any axis. */
+    private final double[] octaveBounds;
+    private final double[] octaveSlopes;
 
     public static OctavePerlinNoiseSampler createLegacy(Xoroshiro128PlusPlusRandom random, IntStream intStream) {
         return new OctavePerlinNoiseSampler(random, OctavePerlinNoiseSampler.calculateAmplitudes(new TreeSet<>(intStream.boxed().collect(Collectors.toList()))), false);
@@ -54,7 +77,7 @@ public class OctavePerlinNoiseSampler {
             for (int k = 0; k < i; ++k) {
                 if (this.amplitudes.get(k) == 0.0) continue;
                 int l = this.firstOctave + k;
-                this.octaveSamplers[k] = new PerlinNoiseSampler(lv.createRandom("octave_" + l));
+                this.octaveSamplers[k] = new PerlinNoiseSampler(lv.createOctaveRandom(l));
             }
         } else {
             PerlinNoiseSampler lv = new PerlinNoiseSampler(random);
@@ -82,6 +105,53 @@ public class OctavePerlinNoiseSampler {
         }
         this.lacunarity = Math.pow(2.0, -j);
         this.persistence = Math.pow(2.0, i - 1) / (Math.pow(2.0, i) - 1.0);
+
+        int count = (int) Arrays.stream(this.octaveSamplers).filter(Objects::nonNull).count();
+        this.octaves = new PerlinNoiseSampler[count];
+        this.frequencies = new double[count];
+        this.weights = new double[count];
+        this.persistences = new double[count];
+        this.premultiplied = this.amplitudes.stream().allMatch(amplitude -> amplitude == 0.0 || isPowerOfTwo(amplitude));
+        double frequency = this.lacunarity;
+        double persistence = this.persistence;
+        int o = 0;
+        for (int l = 0; l < this.octaveSamplers.length; ++l) {
+            if (this.octaveSamplers[l] != null) {
+                double amplitude = this.amplitudes.get(l);
+                this.octaves[o] = this.octaveSamplers[l];
+                this.frequencies[o] = frequency;
+                this.weights[o] = this.premultiplied ? amplitude * persistence : amplitude;
+                this.persistences[o] = this.premultiplied ? 1.0 : persistence;
+                o++;
+            }
+            frequency *= 2.0;
+            persistence /= 2.0;
+        }
+        double maxFrequency = count == 0 ? 0.0 : this.frequencies[count - 1];
+        this.precisionBound = maxFrequency == 0.0 ? Double.POSITIVE_INFINITY : PRECISION_SAFE / maxFrequency;
+
+        double[] bounds = new double[count];
+        for (o = 0; o < count; o++) {
+            bounds[o] = Math.abs(this.weights[o]) * this.persistences[o] * PerlinNoiseSampler.MAX_VALUE;
+        }
+        this.boundOrder = IntStream.range(0, count).boxed()
+                .sorted((a, b) -> Double.compare(bounds[b], bounds[a]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.octaveBounds = bounds;
+        this.octaveSlopes = new double[count];
+        for (o = 0; o < count; o++) {
+            this.octaveSlopes[o] = Math.abs(this.weights[o]) * this.persistences[o] * this.frequencies[o] * PerlinNoiseSampler.MAX_SLOPE;
+        }
+        this.remainingBounds = new double[count + 1];
+        for (int r = count - 1; r >= 0; r--) {
+            this.remainingBounds[r] = this.remainingBounds[r + 1] + bounds[this.boundOrder[r]];
+        }
+    }
+
+    private static boolean isPowerOfTwo(double value) {
+        long bits = Double.doubleToRawLongBits(Math.abs(value));
+        return Double.isFinite(value) && (bits & 0xFFFFFFFFFFFFFL) == 0 && (bits >>> 52) != 0;
     }
 
     private static void skipCalls(BitRandomSource random) {
@@ -93,19 +163,144 @@ public class OctavePerlinNoiseSampler {
     }
 
     public double sample(double x, double y, double z, double yScale, double yMax, boolean useOrigin) {
-        double i = 0.0;
-        double j = this.lacunarity;
-        double k = this.persistence;
-        for (int l = 0; l < this.octaveSamplers.length; ++l) {
-            PerlinNoiseSampler lv = this.octaveSamplers[l];
-            if (lv != null) {
-                double m = lv.sample(OctavePerlinNoiseSampler.maintainPrecision(x * j), useOrigin ? -lv.originY : OctavePerlinNoiseSampler.maintainPrecision(y * j), OctavePerlinNoiseSampler.maintainPrecision(z * j), yScale * j, yMax * j);
-                i += this.amplitudes.get(l) * m * k;
+        PerlinNoiseSampler[] octaves = this.octaves;
+        double[] frequencies = this.frequencies;
+        double[] weights = this.weights;
+        double sum = 0.0;
+        if (this.withinPrecision(x, y, z)) {
+            for (int o = 0; o < octaves.length; ++o) {
+                PerlinNoiseSampler lv = octaves[o];
+                double f = frequencies[o];
+                double m = lv.sample(x * f, useOrigin ? -lv.originY : y * f, z * f, yScale * f, yMax * f);
+                sum = this.accumulate(sum, weights[o], m, o);
+            }
+        } else {
+            for (int o = 0; o < octaves.length; ++o) {
+                PerlinNoiseSampler lv = octaves[o];
+                double f = frequencies[o];
+                double m = lv.sample(OctavePerlinNoiseSampler.maintainPrecision(x * f), useOrigin ? -lv.originY : OctavePerlinNoiseSampler.maintainPrecision(y * f), OctavePerlinNoiseSampler.maintainPrecision(z * f), yScale * f, yMax * f);
+                sum = this.accumulate(sum, weights[o], m, o);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Samples two octave sets built from the same parameters in one loop, the second one at its own coordinates.
+     * Each sum adds its octaves in the usual order, so both equal what {@link #sample(double, double, double)} gives;
+     * returns their sum.
+     */
+    static double samplePair(OctavePerlinNoiseSampler first, double x, double y, double z,
+                             OctavePerlinNoiseSampler second, double x2, double y2, double z2) {
+        PerlinNoiseSampler[] firstOctaves = first.octaves;
+        PerlinNoiseSampler[] secondOctaves = second.octaves;
+        double[] frequencies = first.frequencies;
+        double[] firstWeights = first.weights;
+        double[] secondWeights = second.weights;
+        double a = 0.0;
+        double b = 0.0;
+        if (first.withinPrecision(x, y, z) && second.withinPrecision(x2, y2, z2)) {
+            for (int o = 0; o < firstOctaves.length; ++o) {
+                double f = frequencies[o];
+                a = first.accumulate(a, firstWeights[o], firstOctaves[o].sample(x * f, y * f, z * f, 0.0, 0.0), o);
+                b = second.accumulate(b, secondWeights[o], secondOctaves[o].sample(x2 * f, y2 * f, z2 * f, 0.0, 0.0), o);
+            }
+        } else {
+            for (int o = 0; o < firstOctaves.length; ++o) {
+                double f = frequencies[o];
+                a = first.accumulate(a, firstWeights[o], firstOctaves[o].sample(OctavePerlinNoiseSampler.maintainPrecision(x * f), OctavePerlinNoiseSampler.maintainPrecision(y * f), OctavePerlinNoiseSampler.maintainPrecision(z * f), 0.0, 0.0), o);
+                b = second.accumulate(b, secondWeights[o], secondOctaves[o].sample(OctavePerlinNoiseSampler.maintainPrecision(x2 * f), OctavePerlinNoiseSampler.maintainPrecision(y2 * f), OctavePerlinNoiseSampler.maintainPrecision(z2 * f), 0.0, 0.0), o);
             }
-            j *= 2.0;
-            k /= 2.0;
         }
-        return i;
+        return a + b;
+    }
+
+    /**
+     * Bound on how much {@link #sample(double, double, double)} differs between points within
+     * {@code [-range, range]} that are at most {@code distance} apart over the three axes. Each octave changes by at
+     * most its slope times the distance and by at most twice its bound, so fast octaves count for their bound only.
+     * Infinite where maintainPrecision starts wrapping coordinates, since the wrapped noise is not continuous.
+     */
+    public double maxVariation(double distance, double range) {
+        if (range >= this.precisionBound) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double variation = 0.0;
+        for (int o = 0; o < this.octaveSlopes.length; o++) {
+            variation += Math.min(this.octaveSlopes[o] * distance, 2.0 * this.octaveBounds[o]);
+        }
+        return variation;
+    }
+
+    /** Bound on {@code |sample(x, y, z)|}. */
+    public double maxValue() {
+        return this.remainingBounds[0];
+    }
+
+    /** Compares {@link #sample(double, double, double)} with {@code threshold}; the sign of their difference. */
+    public int sampleAgainst(double x, double y, double z, double threshold) {
+        return this.sampleAgainst(x, y, z, threshold, 0.0);
+    }
+
+    /**
+     * Places {@link #sample(double, double, double)} relative to {@code threshold}: 1 above {@code threshold + margin},
+     * -1 below {@code threshold - margin}, 0 in between. Octaves are summed from the largest bound down, stopping as
+     * soon as the bound on the remaining ones cannot change the answer; if it never settles, the value is computed
+     * exactly.
+     */
+    public int sampleAgainst(double x, double y, double z, double threshold, double margin) {
+        return compare(this, x, y, z, null, 0.0, 0.0, 0.0, 1.0, threshold, margin);
+    }
+
+    /**
+     * Bounded comparison of {@code scale * (first + second)}, {@code second} being optional; {@code scale} must be
+     * positive and both octave sets built from the same parameters.
+     */
+    static int compare(OctavePerlinNoiseSampler first, double x, double y, double z,
+                       OctavePerlinNoiseSampler second, double x2, double y2, double z2,
+                       double scale, double threshold, double margin) {
+        int[] order = first.boundOrder;
+        double[] remaining = first.remainingBounds;
+        double sets = second == null ? 1.0 : 2.0;
+        double slack = ROUNDING_SLACK * remaining[0] * sets;
+        double above = threshold + margin;
+        double below = threshold - margin;
+        boolean precise = first.withinPrecision(x, y, z) && (second == null || second.withinPrecision(x2, y2, z2));
+        double partial = 0.0;
+        for (int r = 0; r < order.length; r++) {
+            int o = order[r];
+            partial += first.term(o, x, y, z, precise);
+            if (second != null) {
+                partial += second.term(o, x2, y2, z2, precise);
+            }
+            double rest = remaining[r + 1] * sets + slack;
+            if ((partial - rest) * scale > above) {
+                return 1;
+            }
+            if ((partial + rest) * scale < below) {
+                return -1;
+            }
+        }
+        double value = (second == null ? first.sample(x, y, z) : samplePair(first, x, y, z, second, x2, y2, z2)) * scale;
+        return value > above ? 1 : value < below ? -1 : 0;
+    }
+
+    private double term(int octave, double x, double y, double z, boolean precise) {
+        PerlinNoiseSampler lv = this.octaves[octave];
+        double f = this.frequencies[octave];
+        double m = precise
+                ? lv.sample(x * f, y * f, z * f, 0.0, 0.0)
+                : lv.sample(OctavePerlinNoiseSampler.maintainPrecision(x * f), OctavePerlinNoiseSampler.maintainPrecision(y * f), OctavePerlinNoiseSampler.maintainPrecision(z * f), 0.0, 0.0);
+        return this.premultiplied ? this.weights[octave] * m : this.weights[octave] * m * this.persistences[octave];
+    }
+
+    private double accumulate(double sum, double weight, double value, int octave) {
+        return this.premultiplied ? sum + weight * value : sum + weight * value * this.persistences[octave];
+    }
+
+    private boolean withinPrecision(double x, double y, double z) {
+        double bound = this.precisionBound;
+        return Math.abs(x) < bound && Math.abs(y) < bound && Math.abs(z) < bound;
     }
 
     public PerlinNoiseSampler getOctave(int octave) {
@@ -4,6 +4,18 @@ import nl.kallestruik.noisesampler.minecraft.BitRandomSource;
 import nl.kallestruik.noisesampler.minecraft.util.MathHelper;
 
 public final class PerlinNoiseSampler {
+    /**
+     * Bound on |sample| with no y scaling. The value is a fade-weighted blend of the corner dot products, and every
+     * gradient has two unit components, so at each corner the worst case is the sum of the two largest distances.
+     * That blend peaks at 1.0364 (a 600^3 grid over the unit cell, whose steps change it by at most 0.0034).
+     */
+    static final double MAX_VALUE = 1.04;
+    /**
+     * Bound on the derivative of the sample along any axis, with no y scaling. Per corner the derivative is a
+     * gradient dotted with the fade-weighted distance plus its weight's derivative times the distance, worst when
+     * it takes the two largest components; summed, that peaks at 3.75 (same grid, steps worth at most 0.025).
+     */
+    static final double MAX_SLOPE = 3.78;
     private static final int[][] GRADIENTS = new int[][]{{1, 1, 0}, {-1, 1, 0}, {1, -1, 0}, {-1, -1, 0}, {1, 0, 1}, {-1, 0, 1}, {1, 0, -1}, {-1, 0, -1}, {0, 1, 1}, {0, -1, 1}, {0, 1, -1}, {0, -1, -1}, {1, 1, 0}, {0, -1, 1}, {-1, 1, 0}, {0, -1, -1}};
     private final byte[] permutations;
     public final double originX;
@@ -9,10 +9,23 @@ public record ShiftedNoise(NoiseSampler shiftX, NoiseSampler shiftY, NoiseSample
     }
 
     public double sample(double x, double y, double z) {
-        double d0 = (double)x * this.xzScale + this.shiftX.sample(x, y, z);
-        double d1 = (double)y * this.yScale + this.shiftY.sample(x, y, z);
-        double d2 = (double)z * this.xzScale + this.shiftZ.sample(x, y, z);
-        return this.noise.sample(d0, d1, d2);
+        return this.noise.sample(
+                shifted(x, this.xzScale, this.shiftX, x, y, z),
+                shifted(y, this.yScale, this.shiftY, x, y, z),
+                shifted(z, this.xzScale, this.shiftZ, x, y, z));
+    }
+
+    @Override
+    public int sampleAgainst(double x, double y, double z, double threshold, double margin) {
+        return this.noise.sampleAgainst(
+                shifted(x, this.xzScale, this.shiftX, x, y, z),
+                shifted(y, this.yScale, this.shiftY, x, y, z),
+                shifted(z, this.xzScale, this.shiftZ, x, y, z),
+                threshold, margin);
     }
-}
 
+    /** One coordinate of the point the wrapped noise is sampled at for (x, y, z). */
+    private static double shifted(double coordinate, double scale, NoiseSampler shift, double x, double y, double z) {
+        return coordinate * scale + shift.sample(x, y, z);
+    }
+}